@@ -1,10 +1,12 @@
 package com.customer.business;
 
-import com.customer.business.cache.CacheService;
 import com.customer.business.exception.ResourceNotFoundException;
 import com.customer.business.exception.ValidationException;
 import com.customer.business.api.ApiApi;
+import com.customer.business.model.CustomerBatchResult;
 import com.customer.business.model.CustomerCreateRequest;
+import com.customer.business.model.CustomerProductsBatchRequest;
+import com.customer.business.model.CustomerProductsResult;
 import com.customer.business.model.CustomerResponse;
 import com.customer.business.model.CustomerUpdateRequest;
 import com.customer.business.model.DebitCardAssociationRequest;
@@ -14,8 +16,10 @@ import com.customer.business.model.PaymentResponse;
 import com.customer.business.model.ProductReportResponse;
 import com.customer.business.model.ProductRequest;
 import com.customer.business.model.ProductResponse;
+import com.customer.business.model.dto.CustomerBatchItem;
 import com.customer.business.model.entity.Customer;
 import com.customer.business.model.entity.Product;
+import com.customer.business.service.CustomerBatchService;
 import com.customer.business.service.DebitCardService;
 import com.customer.business.service.PaymentService;
 import com.customer.business.service.ReportService;
@@ -25,6 +29,7 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.RestController;
@@ -33,10 +38,13 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import com.customer.business.mapper.CustomerFields;
 import com.customer.business.mapper.CustomerMapper;
 import com.customer.business.service.CustomerService;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Implementación de {@link ApiApi} para la API de clientes en modo reactivo (WebFlux).
@@ -47,6 +55,12 @@ import java.time.LocalDate;
 @RestController
 public class CustomerApiImpl implements ApiApi {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final CustomerService customerService;
 
     private final CustomerMapper customerMapper;
@@ -61,7 +75,7 @@ public class CustomerApiImpl implements ApiApi {
 
     private final ReportService reportService;
 
-    private final CacheService cacheService;
+    private final CustomerBatchService customerBatchService;
 
     @Override
     public Mono<ResponseEntity<CustomerResponse>> createCustomer(
@@ -83,42 +97,100 @@ public class CustomerApiImpl implements ApiApi {
                 .doOnError(e -> log.error("[CREATE_CUSTOMER] error creating customer", e));
     }
 
+    @Override
+    public Mono<ResponseEntity<Flux<CustomerBatchResult>>> createCustomersBatch(
+            Flux<CustomerCreateRequest> customerCreateRequest, ServerWebExchange exchange) {
+        log.info("[CREATE_CUSTOMERS_BATCH] request received");
+        Flux<CustomerBatchItem> items = customerCreateRequest.index()
+                .map(indexed -> toBatchItem(indexed.getT1(), indexed.getT2()));
+        Flux<CustomerBatchResult> results = customerBatchService.createAll(items)
+                .map(customerMapper::getCustomerBatchResultOfItem)
+                .doOnError(e -> log.error("[CREATE_CUSTOMERS_BATCH] error creating customers", e));
+        return Mono.just(ResponseEntity.ok(results));
+    }
+
+    private CustomerBatchItem toBatchItem(long index, CustomerCreateRequest request) {
+        try {
+            createValidator.validate(request);
+            return CustomerBatchItem.accepted(index,
+                    customerMapper.getCustomerofCustomerCreateRequest(request));
+        } catch (ValidationException ex) {
+            return CustomerBatchItem.rejected(index, ex.getMessage());
+        }
+    }
+
     @Override
     public Mono<ResponseEntity<Void>> deleteCustomer(String customerId,
                                                      ServerWebExchange exchange) {
         log.info("[DELETE_CUSTOMER] request id={}", customerId);
-        return customerService.findById(customerId)
-                .flatMap(c ->
-                        customerService.delete(customerId)
-                                .then(Mono.fromSupplier(() -> {
-                                    log.info("[DELETE_CUSTOMER] deleted id={}", customerId);
-                                    return ResponseEntity.noContent().<Void>build();
-                                }))
-                )
-                .switchIfEmpty(Mono.fromSupplier(() -> {
-                    log.warn("[DELETE_CUSTOMER] not found id={}", customerId);
-                    return ResponseEntity.notFound().build();
+        return customerService.delete(customerId)
+                .then(Mono.fromSupplier(() -> {
+                    log.info("[DELETE_CUSTOMER] deleted id={}", customerId);
+                    return ResponseEntity.noContent().<Void>build();
                 }))
+                .onErrorResume(ResourceNotFoundException.class, ex -> {
+                    log.warn("[DELETE_CUSTOMER] not found id={}", customerId);
+                    return Mono.just(ResponseEntity.notFound().build());
+                })
                 .doOnError(e -> log.error("[DELETE_CUSTOMER] error id={}", customerId, e));
     }
 
     @Override
     public Mono<ResponseEntity<Flux<CustomerResponse>>> getAllCustomers(
-            ServerWebExchange exchange) {
-        log.info("[GET_ALL_CUSTOMERS] request");
-        Flux<CustomerResponse> body = customerService.findAll()
-                .map(customerMapper::getCustomerResponseOfCustomer);
-        return Mono.just(ResponseEntity.ok(body));
+            String after, Integer limit, String fields, ServerWebExchange exchange) {
+        Set<String> selected = CustomerFields.parse(fields);
+        if (acceptsNdjson(exchange)) {
+            log.info("[GET_ALL_CUSTOMERS] stream after={} fields={}", after, selected);
+            Flux<CustomerResponse> body = customerService.stream(after, selected)
+                    .map(customer -> response(customer, selected));
+            return Mono.just(ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(body));
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return Mono.error(new ValidationException(
+                    "limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        log.info("[GET_ALL_CUSTOMERS] page after={} limit={} fields={}",
+                after, pageSize, selected);
+        // Se pide un elemento más para saber si existe una página siguiente
+        return customerService.findPage(after, pageSize + 1, selected)
+                .collectList()
+                .map(customers -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (customers.size() > pageSize) {
+                        customers = customers.subList(0, pageSize);
+                        response.header(NEXT_CURSOR_HEADER,
+                                customers.get(pageSize - 1).getId());
+                    }
+                    return response.body(Flux.fromIterable(customers)
+                            .map(customer -> response(customer, selected)));
+                });
+    }
+
+    private CustomerResponse response(Customer customer, Set<String> fields) {
+        return CustomerFields.render(customerMapper.getCustomerResponseOfCustomer(customer),
+                fields);
+    }
+
+    private static boolean acceptsNdjson(ServerWebExchange exchange) {
+        return exchange.getRequest().getHeaders().getAccept().stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
     }
 
     @Override
     public Mono<ResponseEntity<CustomerResponse>> getCustomerById(String customerId,
+                                                                  String fields,
                                                                   ServerWebExchange exchange) {
         log.info("[GET_CUSTOMER_BY_ID] request id={}", customerId);
-        return cacheService.getCachedCustomer(customerId)
-                .switchIfEmpty(customerService.findById(customerId))
-                .map(customerMapper::getCustomerResponseOfCustomer)
-                .map(ResponseEntity::ok)
+        Set<String> selected = CustomerFields.parse(fields);
+        // Se lee el cliente completo (cache) y se recorta al serializar
+        return customerService.findById(customerId)
+                // la versión se toma antes de recortar: retain no la conserva
+                .map(customer -> withVersion(ResponseEntity.ok(), customer.getVersion())
+                        .body(response(CustomerFields.retain(customer, selected),
+                                selected)))
                 .switchIfEmpty(Mono.just(ResponseEntity.notFound().build()))
                 .doOnError(error -> log.error("[GET_CUSTOMER_BY_ID] error id={}",
                         customerId, error));
@@ -128,18 +200,20 @@ public class CustomerApiImpl implements ApiApi {
     public Mono<ResponseEntity<CustomerResponse>> updateCustomer(
             String customerId,
             Mono<CustomerUpdateRequest> customerRequest,
+            String ifMatch,
             ServerWebExchange exchange) {
         log.info("[UPDATE_CUSTOMER] request id={}", customerId);
         return customerRequest
                 .doOnNext(updateValidator::validate) // Validar la solicitud
-                .flatMap(request -> customerService.findById(customerId)
-                        .flatMap(existing -> {
-                            Customer updated = customerMapper
-                                    .getCustomerFromUpdateRequest(request, existing);
-                            return customerService.update(customerId, updated);
-                        }))
-                .map(customerMapper::getCustomerResponseOfCustomer)
-                .map(ResponseEntity::ok)
+                .flatMap(request -> {
+                    // sin lectura previa: el servicio aplica los cambios en una sola escritura
+                    Customer changes = customerMapper
+                            .getCustomerFromUpdateRequest(request, new Customer());
+                    changes.setVersion(expectedVersion(ifMatch));
+                    return customerService.update(customerId, changes);
+                })
+                .map(updated -> withVersion(ResponseEntity.ok(), updated.getVersion())
+                        .body(customerMapper.getCustomerResponseOfCustomer(updated)))
                 .onErrorResume(ValidationException.class, ex -> {
                     log.warn("[UPDATE_CUSTOMER] validation failed id={}: {}",
                             customerId, ex.getMessage());
@@ -153,29 +227,67 @@ public class CustomerApiImpl implements ApiApi {
                         customerId, error));
     }
 
+    /**
+     * Versión esperada por el cliente HTTP, tomada de la cabecera If-Match
+     * (el ETag devuelto por la última lectura o actualización); null si no la envía.
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String tag = ifMatch.split(",")[0].trim();
+        if ("*".equals(tag)) {
+            return null;
+        }
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException ex) {
+            throw new ValidationException("Invalid If-Match header: " + ifMatch);
+        }
+    }
+
+    private static ResponseEntity.BodyBuilder withVersion(ResponseEntity.BodyBuilder builder,
+                                                          Long version) {
+        return version == null ? builder : builder.eTag(String.valueOf(version));
+    }
+
     @Override
     public Mono<ResponseEntity<Flux<ProductResponse>>> getCustomerProducts(
             String id, ServerWebExchange exchange) {
         log.info("[GET_CUSTOMER_PRODUCTS] request id={}", id);
 
         Flux<ProductResponse> productResponses = customerService.getProducts(id)
-                .map(product -> {
-                    ProductResponse response = new ProductResponse();
-                    response.setCategory(
-                            ProductResponse.CategoryEnum.fromValue(
-                                    product.getCategory()));
-                    response.setType(
-                            ProductResponse.TypeEnum.fromValue(
-                                    product.getType()));
-                    response.setSubType(
-                            ProductResponse.SubTypeEnum.fromValue(
-                                    product.getSubType()));
-                    return response;
-                });
-
+                .map(customerMapper::getProductResponseOfProduct);
+        if (acceptsNdjson(exchange)) {
+            return Mono.just(ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(productResponses));
+        }
         return Mono.just(ResponseEntity.ok().body(productResponses));
     }
 
+    @Override
+    public Mono<ResponseEntity<Flux<CustomerProductsResult>>> getCustomersProducts(
+            Mono<CustomerProductsBatchRequest> customerProductsBatchRequest,
+            ServerWebExchange exchange) {
+        boolean ndjson = acceptsNdjson(exchange);
+        return customerProductsBatchRequest.map(request -> {
+            List<String> ids = request.getCustomerIds();
+            log.info("[GET_CUSTOMERS_PRODUCTS] request customers={}", ids.size());
+            Flux<CustomerProductsResult> results = customerService.getProductsOfCustomers(ids)
+                    .map(customerMapper::getCustomerProductsResultOfCustomerProducts)
+                    .doOnError(e -> log.error("[GET_CUSTOMERS_PRODUCTS] error", e));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (ndjson) {
+                response.contentType(MediaType.APPLICATION_NDJSON);
+            }
+            return response.body(results);
+        });
+    }
+
     @Override
     public Mono<ResponseEntity<Void>> addProductToCustomer(String id,
                                                            Mono<ProductRequest> productRequestMono,
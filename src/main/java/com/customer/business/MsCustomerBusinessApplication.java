@@ -1,11 +1,20 @@
 package com.customer.business;
 
+import com.customer.business.loader.CustomerBulkLoader;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Profiles;
 
 @SpringBootApplication
 public class MsCustomerBusinessApplication {
     public static void main(String[] args) {
-		SpringApplication.run(MsCustomerBusinessApplication.class, args);
+		ConfigurableApplicationContext context =
+				SpringApplication.run(MsCustomerBusinessApplication.class, args);
+		// En modo carga masiva la aplicación termina al acabar el archivo
+		Profiles loader = Profiles.of(CustomerBulkLoader.PROFILE);
+		if (context.getEnvironment().acceptsProfiles(loader)) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 }
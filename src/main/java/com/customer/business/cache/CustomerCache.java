@@ -0,0 +1,241 @@
+package com.customer.business.cache;
+
+import com.customer.business.model.entity.Customer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Cache-aside tipada de clientes.
+ *
+ * - Nivel 1: {@link CustomerNearCache} (memoria local del nodo).
+ * - Nivel 2: Redis, con claves con espacio de nombres ({@value #KEY_PREFIX}{id})
+ *   y un único TTL para todas las escrituras.
+ *
+ * Cada lectura hace como máximo un GET a Redis y deserializa directamente a
+ * {@link Customer}, sin conversiones intermedias. Los fallos concurrentes sobre
+ * el mismo cliente se coalescen con {@link SingleFlight}: comparten un único
+ * GET a Redis, una única lectura al origen y un único SET.
+ *
+ * Stale-while-revalidate: cada entrada lleva una expiración lógica (TTL con jitter)
+ * y vive en Redis hasta {@code ttl + staleTtl}. Pasada la expiración lógica se sirve
+ * la entrada y se recarga en segundo plano; antes de ella se recarga de forma
+ * anticipada con probabilidad creciente (XFetch), de modo que las recargas no
+ * coinciden en el tiempo ni las paga el lector.
+ *
+ * Cache negativa: los ids que no existen en el origen se guardan como entradas
+ * sin cliente con un TTL corto ({@code negativeTtl}). El TTL corto acota también la
+ * ventana en la que un alta concurrente con un fallo queda oculta.
+ *
+ * El {@link CustomerIdFilter} solo lo consulta {@link #get}. {@link #getOrLoad} no lo
+ * usa: el filtro se entera tarde de las altas de otros nodos (relay del outbox y
+ * Kafka) y nunca de las cargas masivas, así que su "no" obligaría a ir al origen, y
+ * los ids inexistentes repetidos ya los responde la entrada negativa de Redis.
+ */
+@Slf4j
+@Component
+public class CustomerCache {
+
+    static final String KEY_PREFIX = "customer:";
+
+    private final ReactiveRedisTemplate<String, CustomerCacheEntry> redisTemplate;
+
+    private final CustomerNearCache nearCache;
+
+    private final CustomerIdFilter idFilter;
+
+    private final Duration ttl;
+
+    private final Duration staleTtl;
+
+    private final Duration negativeTtl;
+
+    private final double ttlJitter;
+
+    private final double earlyRefreshBeta;
+
+    private final SingleFlight<String, Customer> loads = new SingleFlight<>();
+
+    private final SingleFlight<String, Customer> refreshes = new SingleFlight<>();
+
+    public CustomerCache(ReactiveRedisTemplate<String, CustomerCacheEntry> redisTemplate,
+                         CustomerNearCache nearCache,
+                         CustomerIdFilter idFilter,
+                         @Value("${customer.cache.redis.ttl:1h}") Duration ttl,
+                         @Value("${customer.cache.redis.stale-ttl:10m}") Duration staleTtl,
+                         @Value("${customer.cache.redis.negative-ttl:30s}")
+                         Duration negativeTtl,
+                         @Value("${customer.cache.redis.ttl-jitter:0.1}") double ttlJitter,
+                         @Value("${customer.cache.redis.early-refresh-beta:1.0}")
+                         double earlyRefreshBeta) {
+        this.redisTemplate = redisTemplate;
+        this.nearCache = nearCache;
+        this.idFilter = idFilter;
+        this.ttl = ttl;
+        this.staleTtl = staleTtl;
+        this.negativeTtl = negativeTtl;
+        this.ttlJitter = ttlJitter;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+    }
+
+    /**
+     * Busca el cliente en la cache local y, si no está, en Redis.
+     * No recarga entradas vencidas (no conoce el origen).
+     *
+     * @param customerId identificador del cliente
+     * @return cliente cacheado o vacío si no está en ningún nivel
+     */
+    public Mono<Customer> get(String customerId) {
+        return Mono.defer(() -> {
+            Customer local = nearCache.getIfPresent(customerId);
+            if (local != null) {
+                return Mono.just(local);
+            }
+            if (!idFilter.mightContain(customerId)) {
+                return Mono.empty();
+            }
+            return redisTemplate.opsForValue().get(key(customerId))
+                    .filter(entry -> !entry.isAbsent())
+                    .map(CustomerCacheEntry::getCustomer)
+                    .doOnNext(nearCache::put);
+        });
+    }
+
+    /**
+     * Busca el cliente en cache y, si no está, lo carga del origen y lo cachea.
+     * Las entradas vencidas (o elegidas para recarga anticipada) se sirven y se
+     * recargan en segundo plano. Los ids inexistentes se recuerdan durante
+     * {@code negativeTtl} y se responden vacíos sin consultar el origen.
+     *
+     * @param customerId identificador del cliente
+     * @param loader carga desde el origen (p. ej. MongoDB)
+     * @return cliente o vacío si no existe en el origen
+     */
+    public Mono<Customer> getOrLoad(String customerId,
+                                    Function<String, Mono<Customer>> loader) {
+        return Mono.defer(() -> {
+            Customer local = nearCache.getIfPresent(customerId);
+            if (local != null) {
+                return Mono.just(local);
+            }
+            return loads.execute(customerId, () ->
+                    redisTemplate.opsForValue().get(key(customerId))
+                            .doOnNext(entry -> {
+                                if (shouldRefresh(entry, System.currentTimeMillis())) {
+                                    refreshInBackground(customerId, loader);
+                                }
+                            })
+                            .map(entry -> Optional.ofNullable(entry.getCustomer()))
+                            .doOnNext(cached -> cached.ifPresent(nearCache::put))
+                            .switchIfEmpty(load(customerId, loader)
+                                    .map(Optional::of)
+                                    .switchIfEmpty(putAbsent(customerId)))
+                            .flatMap(Mono::justOrEmpty))
+                    // la carga compartida entrega la misma instancia a todos los suscriptores
+                    .map(CustomerNearCache::copyOf);
+        });
+    }
+
+    /**
+     * Guarda el cliente en Redis (con TTL) y en la cache local, reemplazando
+     * una posible entrada negativa.
+     *
+     * @param customer cliente a cachear
+     * @return el mismo cliente, para encadenar
+     */
+    public Mono<Customer> put(Customer customer) {
+        return put(customer, 0L);
+    }
+
+    /**
+     * Elimina el cliente de ambos niveles.
+     *
+     * @param customerId identificador del cliente
+     */
+    public Mono<Void> evict(String customerId) {
+        return Mono.defer(() -> {
+            nearCache.evict(customerId);
+            return redisTemplate.opsForValue().delete(key(customerId));
+        }).then();
+    }
+
+    /**
+     * Decide si una entrada debe recargarse: siempre si pasó su expiración lógica y,
+     * antes de ella, con probabilidad creciente según lo que tardó su última carga
+     * (XFetch: {@code now - loadMillis * beta * ln(rand) >= refreshAt}).
+     * Con {@code staleTtl} cero el modo está desactivado y solo rige el TTL de Redis.
+     */
+    boolean shouldRefresh(CustomerCacheEntry entry, long now) {
+        if (staleTtl.isZero() || entry.isAbsent()) {
+            return false;
+        }
+        if (now >= entry.getRefreshAt()) {
+            return true;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        double earlyMillis = -entry.getLoadMillis() * earlyRefreshBeta * Math.log(random);
+        return now + earlyMillis >= entry.getRefreshAt();
+    }
+
+    private Mono<Customer> load(String customerId, Function<String, Mono<Customer>> loader) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return loader.apply(customerId)
+                    .flatMap(customer -> put(customer,
+                            Duration.ofNanos(System.nanoTime() - start).toMillis()));
+        });
+    }
+
+    private Mono<Optional<Customer>> putAbsent(String customerId) {
+        if (negativeTtl.isZero()) {
+            return Mono.just(Optional.empty());
+        }
+        return Mono.defer(() -> {
+            long refreshAt = System.currentTimeMillis() + negativeTtl.toMillis();
+            return redisTemplate.opsForValue()
+                    .set(key(customerId), CustomerCacheEntry.absent(refreshAt), negativeTtl)
+                    .thenReturn(Optional.<Customer>empty());
+        });
+    }
+
+    private void refreshInBackground(String customerId,
+                                     Function<String, Mono<Customer>> loader) {
+        refreshes.execute(customerId, () -> load(customerId, loader)
+                        .switchIfEmpty(evict(customerId).then(Mono.<Customer>empty())))
+                .subscribe(
+                        refreshed -> log.debug("[CUSTOMER_CACHE] refreshed id={}", customerId),
+                        error -> log.warn("[CUSTOMER_CACHE] refresh failed id={}: {}",
+                                customerId, error.toString()));
+    }
+
+    private Mono<Customer> put(Customer customer, long loadMillis) {
+        idFilter.add(customer.getId());
+        long now = System.currentTimeMillis();
+        CustomerCacheEntry entry = new CustomerCacheEntry(
+                customer, now + jitteredTtlMillis(), loadMillis);
+        return redisTemplate.opsForValue()
+                .set(key(customer.getId()), entry, ttl.plus(staleTtl))
+                .doOnNext(stored -> nearCache.put(customer))
+                .thenReturn(customer);
+    }
+
+    private long jitteredTtlMillis() {
+        long ttlMillis = ttl.toMillis();
+        if (ttlJitter <= 0) {
+            return ttlMillis;
+        }
+        double factor = 1.0 + ThreadLocalRandom.current().nextDouble(-ttlJitter, ttlJitter);
+        return (long) (ttlMillis * factor);
+    }
+
+    static String key(String customerId) {
+        return KEY_PREFIX + customerId;
+    }
+}
@@ -0,0 +1,43 @@
+package com.customer.business.cache;
+
+import com.customer.business.model.entity.Customer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Valor guardado en Redis para un cliente.
+ *
+ * - refreshAt: expiración lógica (epoch millis); pasada esta marca la entrada se
+ *   sigue sirviendo mientras se recarga en segundo plano.
+ * - loadMillis: lo que tardó la última carga desde el origen; se usa para
+ *   adelantar la recarga de forma probabilística.
+ *
+ * Una entrada sin cliente es una entrada negativa: el id no existe en el origen.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerCacheEntry {
+
+    private Customer customer;
+
+    private long refreshAt;
+
+    private long loadMillis;
+
+    /**
+     * Entrada negativa para un id que no existe en el origen.
+     */
+    public static CustomerCacheEntry absent(long refreshAt) {
+        return new CustomerCacheEntry(null, refreshAt, 0L);
+    }
+
+    @JsonIgnore
+    public boolean isAbsent() {
+        return customer == null;
+    }
+}
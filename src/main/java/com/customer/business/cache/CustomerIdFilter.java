@@ -0,0 +1,167 @@
+package com.customer.business.cache;
+
+import com.customer.business.model.entity.Customer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom en memoria con los ids de clientes existentes.
+ *
+ * - Se construye al arrancar leyendo solo los {@code _id} de la colección "customers".
+ * - Se mantiene con las altas locales ({@link CustomerCache#put}) y con los eventos
+ *   CREATED de "customer-events".
+ * - Solo lo consulta {@link CustomerCache#get}, que no decide si un cliente existe:
+ *   el filtro se entera con retraso de las altas de otros nodos y no ve las cargas
+ *   masivas. {@link CustomerCache#getOrLoad} no lo usa; los ids inexistentes los
+ *   responde la cache negativa. Un "sí" puede ser un falso positivo.
+ *
+ * Desactivado por defecto. Mientras no está listo (o si falla la carga inicial)
+ * responde siempre "sí", de modo que nunca oculta un cliente existente.
+ * Los ids eliminados no se pueden quitar; sus consultas las responde la cache negativa.
+ */
+@Slf4j
+@Component
+public class CustomerIdFilter {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final boolean enabled;
+
+    private final long expectedInsertions;
+
+    private final AtomicLongArray bits;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    private final AtomicLong insertions = new AtomicLong();
+
+    private volatile boolean ready;
+
+    public CustomerIdFilter(
+            ReactiveMongoTemplate mongoTemplate,
+            @Value("${customer.cache.bloom.enabled:false}") boolean enabled,
+            @Value("${customer.cache.bloom.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${customer.cache.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        if (enabled) {
+            long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate)
+                    / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.max(1, (optimalBits + 63) / 64);
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = words * 64L;
+            this.hashCount = Math.max(1,
+                    (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        } else {
+            this.bits = null;
+            this.bitCount = 0;
+            this.hashCount = 0;
+        }
+    }
+
+    /**
+     * Carga los ids existentes al arrancar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        Query query = new Query();
+        query.fields().include("_id");
+        mongoTemplate.find(query, Customer.class)
+                .doOnNext(customer -> add(customer.getId()))
+                .count()
+                .subscribe(
+                        count -> {
+                            ready = true;
+                            log.info("[CUSTOMER_ID_FILTER] loaded {} ids bits={} hashes={}",
+                                    count, bitCount, hashCount);
+                        },
+                        error -> log.error("[CUSTOMER_ID_FILTER] load failed, filter disabled: {}",
+                                error.toString()));
+    }
+
+    /**
+     * Registra un id existente.
+     */
+    public void add(String customerId) {
+        if (!enabled || customerId == null) {
+            return;
+        }
+        long hash = hash(customerId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            setBit(index(h1 + i * h2));
+        }
+        if (insertions.incrementAndGet() == expectedInsertions + 1) {
+            log.warn("[CUSTOMER_ID_FILTER] more than {} ids, false positive rate will grow",
+                    expectedInsertions);
+        }
+    }
+
+    /**
+     * @return {@code false} si el id no se ha registrado en este nodo
+     */
+    public boolean mightContain(String customerId) {
+        if (!enabled || !ready || customerId == null) {
+            return true;
+        }
+        long hash = hash(customerId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = index(h1 + i * h2);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private long index(int combined) {
+        return (combined & Integer.MAX_VALUE) % bitCount;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    // FNV-1a de 64 bits con mezcla final, suficiente para hashing doble
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,95 @@
+package com.customer.business.cache;
+
+import com.customer.business.model.entity.Customer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache local en memoria (L1) de clientes, ubicada delante de Redis (L2).
+ *
+ * - Acotada por tamaño y con expiración por escritura, de modo que una entrada
+ *   obsoleta vive como máximo el TTL configurado aunque se pierda un evento.
+ * - Se invalida en cada nodo a partir de los eventos UPDATED/DELETED del tópico
+ *   "customer-events".
+ * - Devuelve copias defensivas: {@link Customer} es mutable y los llamadores
+ *   (p. ej. el mapper de actualización) modifican la instancia recibida.
+ */
+@Slf4j
+@Component
+public class CustomerNearCache {
+
+    private final Cache<String, Customer> cache;
+
+    public CustomerNearCache(
+            @Value("${customer.cache.near.maximum-size:10000}") long maximumSize,
+            @Value("${customer.cache.near.ttl:30s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        log.info("[NEAR_CACHE] initialized maximumSize={} ttl={}", maximumSize, ttl);
+    }
+
+    /**
+     * Obtiene una copia del cliente cacheado localmente.
+     *
+     * @param customerId identificador del cliente
+     * @return copia del cliente o {@code null} si no está en la cache local
+     */
+    public Customer getIfPresent(String customerId) {
+        if (customerId == null) {
+            return null;
+        }
+        Customer cached = cache.getIfPresent(customerId);
+        return cached == null ? null : copyOf(cached);
+    }
+
+    /**
+     * Guarda una copia del cliente en la cache local.
+     */
+    public void put(Customer customer) {
+        if (customer == null || customer.getId() == null) {
+            return;
+        }
+        cache.put(customer.getId(), copyOf(customer));
+    }
+
+    /**
+     * Elimina el cliente de la cache local.
+     */
+    public void evict(String customerId) {
+        if (customerId != null) {
+            cache.invalidate(customerId);
+        }
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    static Customer copyOf(Customer source) {
+        Customer copy = new Customer();
+        copy.setId(source.getId());
+        copy.setCustomerType(source.getCustomerType());
+        copy.setProfile(source.getProfile());
+        copy.setFirstName(source.getFirstName());
+        copy.setLastName(source.getLastName());
+        copy.setBusinessName(source.getBusinessName());
+        copy.setDni(source.getDni());
+        copy.setRuc(source.getRuc());
+        copy.setAddress(source.getAddress());
+        copy.setPhone(source.getPhone());
+        copy.setEmail(source.getEmail());
+        copy.setVersion(source.getVersion());
+        return copy;
+    }
+}
@@ -0,0 +1,51 @@
+package com.customer.business.cache;
+
+import com.customer.business.model.dto.ProductDTO;
+import com.customer.business.util.enums.ProductSubType;
+import com.customer.business.util.enums.ProductType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resumen de los productos de un cliente para validar las altas de productos:
+ * cantidad por tipo/subtipo y si tiene tarjeta de crédito.
+ *
+ * Es lo único que necesitan las reglas de negocio, así que se cachea en lugar de la
+ * lista completa ({@link ProductCountsCache}).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCounts {
+
+    private Map<String, Long> counts = new HashMap<>(); // "TIPO/SUBTIPO" -> cantidad
+
+    private boolean creditCard;
+
+    public static ProductCounts of(Collection<ProductDTO> products) {
+        Map<String, Long> counts = new HashMap<>();
+        boolean creditCard = false;
+        for (ProductDTO product : products) {
+            counts.merge(key(product.getType(), product.getSubType()), 1L, Long::sum);
+            creditCard |= ProductType.CREDIT_CARD.getValue().equalsIgnoreCase(product.getType());
+        }
+        return new ProductCounts(counts, creditCard);
+    }
+
+    public long count(ProductType type, ProductSubType subType) {
+        return counts.getOrDefault(key(type.getValue(), subType.getValue()), 0L);
+    }
+
+    private static String key(String type, String subType) {
+        return String.valueOf(type).toUpperCase(Locale.ROOT)
+                + "/" + String.valueOf(subType).toUpperCase(Locale.ROOT);
+    }
+}
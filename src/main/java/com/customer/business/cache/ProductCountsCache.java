@@ -0,0 +1,68 @@
+package com.customer.business.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Cache en Redis de {@link ProductCounts} por cliente ({@value #KEY_PREFIX}{id}).
+ *
+ * - TTL corto: acota lo que dura un conteo desactualizado si se pierde una invalidación.
+ * - Se invalida al agregar o eliminar productos desde este servicio y con cada
+ *   evento de "product-events" del cliente.
+ * - Es una optimización: los fallos de Redis se registran y se tratan como fallo de
+ *   cache, nunca como error de la operación.
+ */
+@Slf4j
+@Component
+public class ProductCountsCache {
+
+    static final String KEY_PREFIX = "customer-products:";
+
+    private final ReactiveRedisTemplate<String, ProductCounts> redisTemplate;
+
+    private final Duration ttl;
+
+    public ProductCountsCache(ReactiveRedisTemplate<String, ProductCounts> redisTemplate,
+                              @Value("${customer.cache.product-counts.ttl:2m}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    public Mono<ProductCounts> get(String customerId) {
+        return redisTemplate.opsForValue().get(key(customerId))
+                .onErrorResume(error -> {
+                    log.warn("[PRODUCT_COUNTS] read failed id={}: {}",
+                            customerId, error.toString());
+                    return Mono.empty();
+                });
+    }
+
+    public Mono<Void> put(String customerId, ProductCounts counts) {
+        return redisTemplate.opsForValue().set(key(customerId), counts, ttl)
+                .then()
+                .onErrorResume(error -> {
+                    log.warn("[PRODUCT_COUNTS] write failed id={}: {}",
+                            customerId, error.toString());
+                    return Mono.empty();
+                });
+    }
+
+    public Mono<Void> evict(String customerId) {
+        return redisTemplate.opsForValue().delete(key(customerId))
+                .then()
+                .onErrorResume(error -> {
+                    log.warn("[PRODUCT_COUNTS] evict failed id={}: {}",
+                            customerId, error.toString());
+                    return Mono.empty();
+                });
+    }
+
+    static String key(String customerId) {
+        return KEY_PREFIX + customerId;
+    }
+}
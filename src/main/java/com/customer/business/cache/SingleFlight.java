@@ -0,0 +1,52 @@
+package com.customer.business.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalescencia de llamadas concurrentes por clave ("single-flight").
+ *
+ * Mientras una carga para una clave está en curso, las suscripciones con la
+ * misma clave comparten su resultado (valor, vacío o error) en lugar de lanzar
+ * otra carga. Al terminar, la clave se libera y la siguiente llamada vuelve a
+ * ejecutar el loader.
+ *
+ * La carga no se cancela si se cancelan sus suscriptores, de modo que el
+ * llenado de la cache siempre se completa.
+ *
+ * @param <K> tipo de la clave
+ * @param <V> tipo del valor
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Ejecuta el loader para la clave o se une a la carga en curso.
+     *
+     * @param key clave a coalescer
+     * @param loader carga a ejecutar si no hay otra en curso
+     * @return resultado compartido de la carga
+     */
+    public Mono<V> execute(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            Mono<V> current = inFlight.get(key);
+            if (current != null) {
+                return current;
+            }
+            return inFlight.computeIfAbsent(key, k -> Mono.defer(loader)
+                    .doFinally(signal -> inFlight.remove(k))
+                    .cache());
+        });
+    }
+
+    /**
+     * Número de cargas en curso.
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,337 @@
+package com.customer.business.cache.codec;
+
+import com.customer.business.cache.CustomerCacheEntry;
+import com.customer.business.model.entity.Customer;
+import com.customer.business.util.enums.CustomerType;
+import com.customer.business.util.enums.ProfileEnum;
+import org.bson.types.ObjectId;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Codec binario compacto y versionado para las entradas de cache de {@link Customer}.
+ *
+ * Formato:
+ * <pre>
+ * [MAGIC][versión][flags][payload]
+ * payload = [refreshAt (long)][loadMillis (int)][cliente]
+ * cliente = [máscara de presencia (short)][campos presentes en orden de esquema]
+ * </pre>
+ *
+ * El byte de versión permite cambiar el formato más adelante; hoy solo existe la 1.
+ *
+ * - El id se guarda en 12 bytes cuando es un ObjectId hexadecimal en minúsculas.
+ * - customerType y profile se guardan como un byte cuando son valores conocidos.
+ * - La versión del documento (bit 11 de la máscara) se guarda como long, al final.
+ * - El resto de campos se guardan en UTF-8 modificado ({@link DataOutputStream#writeUTF}).
+ * - Si el payload supera el umbral configurado se comprime con Deflate (flag 0x01).
+ * - Las entradas negativas (sin cliente) llevan el flag 0x02 y omiten el cliente.
+ *
+ * El byte MAGIC nunca inicia un documento JSON, lo que permite distinguir ambos
+ * formatos al leer (ver {@link #isBinary(byte[])}).
+ */
+public class CustomerBinaryCodec {
+
+    public static final byte MAGIC = (byte) 0xC5;
+
+    static final byte VERSION = 1;
+
+    static final byte FLAG_COMPRESSED = 0x01;
+
+    static final byte FLAG_ABSENT = 0x02;
+
+    private static final int HEADER_LENGTH = 3;
+
+    private static final byte ID_STRING = 0;
+
+    private static final byte ID_OBJECT_ID = 1;
+
+    private static final byte LITERAL = 0;
+
+    // Posiciones de los campos en el esquema v1 (también bits de la máscara)
+    private static final int ID = 0;
+
+    private static final int CUSTOMER_TYPE = 1;
+
+    private static final int PROFILE = 2;
+
+    private static final int FIRST_NAME = 3;
+
+    private static final int LAST_NAME = 4;
+
+    private static final int BUSINESS_NAME = 5;
+
+    private static final int DNI = 6;
+
+    private static final int RUC = 7;
+
+    private static final int ADDRESS = 8;
+
+    private static final int PHONE = 9;
+
+    private static final int EMAIL = 10;
+
+    // versión del documento (control optimista); no es un campo de texto
+    private static final int DOCUMENT_VERSION = 11;
+
+    private static final String[] CUSTOMER_TYPES = {
+        CustomerType.PERSONAL.getValue(), CustomerType.BUSINESS.getValue()
+    };
+
+    private static final String[] PROFILES = {
+        ProfileEnum.STANDARD.getValue(), ProfileEnum.VIP.getValue(), ProfileEnum.PYME.getValue()
+    };
+
+    private final int compressionThreshold;
+
+    /**
+     * @param compressionThreshold tamaño en bytes del payload a partir del cual se
+     *                             comprime; un valor negativo desactiva la compresión
+     */
+    public CustomerBinaryCodec(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * Indica si los bytes tienen la cabecera del formato binario.
+     */
+    public static boolean isBinary(byte[] bytes) {
+        return bytes != null && bytes.length >= HEADER_LENGTH && bytes[0] == MAGIC;
+    }
+
+    public byte[] encode(CustomerCacheEntry entry) {
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(body);
+            out.writeLong(entry.getRefreshAt());
+            out.writeInt((int) Math.min(entry.getLoadMillis(), Integer.MAX_VALUE));
+            byte flags = 0;
+            if (entry.isAbsent()) {
+                flags |= FLAG_ABSENT;
+            } else {
+                writeCustomer(out, entry.getCustomer());
+            }
+            out.flush();
+            byte[] payload = body.toByteArray();
+
+            if (compressionThreshold >= 0 && payload.length > compressionThreshold) {
+                payload = deflate(payload);
+                flags |= FLAG_COMPRESSED;
+            }
+
+            byte[] encoded = new byte[HEADER_LENGTH + payload.length];
+            encoded[0] = MAGIC;
+            encoded[1] = VERSION;
+            encoded[2] = flags;
+            System.arraycopy(payload, 0, encoded, HEADER_LENGTH, payload.length);
+            return encoded;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot encode customer", ex);
+        }
+    }
+
+    public CustomerCacheEntry decode(byte[] bytes) {
+        if (!isBinary(bytes)) {
+            throw new IllegalArgumentException("Not a binary customer payload");
+        }
+        byte version = bytes[1];
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported customer codec version " + version);
+        }
+        try {
+            byte[] payload = new byte[bytes.length - HEADER_LENGTH];
+            System.arraycopy(bytes, HEADER_LENGTH, payload, 0, payload.length);
+            if ((bytes[2] & FLAG_COMPRESSED) != 0) {
+                payload = inflate(payload);
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            long refreshAt = in.readLong();
+            long loadMillis = in.readInt();
+            if ((bytes[2] & FLAG_ABSENT) != 0) {
+                return CustomerCacheEntry.absent(refreshAt);
+            }
+            return new CustomerCacheEntry(readCustomer(in), refreshAt, loadMillis);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot decode customer", ex);
+        }
+    }
+
+    /**
+     * Escribe los campos del cliente (sin cabecera) en orden de esquema.
+     */
+    public static void writeCustomer(DataOutputStream out, Customer customer)
+            throws IOException {
+        String[] fields = fieldsOf(customer);
+        short presence = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null) {
+                presence |= (short) (1 << i);
+            }
+        }
+        if (customer.getVersion() != null) {
+            presence |= (short) (1 << DOCUMENT_VERSION);
+        }
+        out.writeShort(presence);
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] == null) {
+                continue;
+            }
+            if (i == ID) {
+                writeId(out, fields[i]);
+            } else if (i == CUSTOMER_TYPE) {
+                writeKnownValue(out, fields[i], CUSTOMER_TYPES);
+            } else if (i == PROFILE) {
+                writeKnownValue(out, fields[i], PROFILES);
+            } else {
+                out.writeUTF(fields[i]);
+            }
+        }
+        if (customer.getVersion() != null) {
+            out.writeLong(customer.getVersion());
+        }
+        out.flush();
+    }
+
+    /**
+     * Lee los campos del cliente escritos con {@link #writeCustomer}.
+     */
+    public static Customer readCustomer(DataInputStream in) throws IOException {
+        short presence = in.readShort();
+        String[] fields = new String[EMAIL + 1];
+        for (int i = 0; i < fields.length; i++) {
+            if ((presence & (1 << i)) == 0) {
+                continue;
+            }
+            if (i == ID) {
+                fields[i] = readId(in);
+            } else if (i == CUSTOMER_TYPE) {
+                fields[i] = readKnownValue(in, CUSTOMER_TYPES);
+            } else if (i == PROFILE) {
+                fields[i] = readKnownValue(in, PROFILES);
+            } else {
+                fields[i] = in.readUTF();
+            }
+        }
+        Customer customer = new Customer();
+        customer.setId(fields[ID]);
+        customer.setCustomerType(fields[CUSTOMER_TYPE]);
+        customer.setProfile(fields[PROFILE]);
+        customer.setFirstName(fields[FIRST_NAME]);
+        customer.setLastName(fields[LAST_NAME]);
+        customer.setBusinessName(fields[BUSINESS_NAME]);
+        customer.setDni(fields[DNI]);
+        customer.setRuc(fields[RUC]);
+        customer.setAddress(fields[ADDRESS]);
+        customer.setPhone(fields[PHONE]);
+        customer.setEmail(fields[EMAIL]);
+        if ((presence & (1 << DOCUMENT_VERSION)) != 0) {
+            customer.setVersion(in.readLong());
+        }
+        return customer;
+    }
+
+    private static String[] fieldsOf(Customer customer) {
+        return new String[] {
+            customer.getId(),
+            customer.getCustomerType(),
+            customer.getProfile(),
+            customer.getFirstName(),
+            customer.getLastName(),
+            customer.getBusinessName(),
+            customer.getDni(),
+            customer.getRuc(),
+            customer.getAddress(),
+            customer.getPhone(),
+            customer.getEmail()
+        };
+    }
+
+    private static void writeId(DataOutputStream out, String id) throws IOException {
+        if (ObjectId.isValid(id) && id.equals(id.toLowerCase(Locale.ROOT))) {
+            out.writeByte(ID_OBJECT_ID);
+            out.write(new ObjectId(id).toByteArray());
+        } else {
+            out.writeByte(ID_STRING);
+            out.writeUTF(id);
+        }
+    }
+
+    private static String readId(DataInputStream in) throws IOException {
+        if (in.readByte() == ID_OBJECT_ID) {
+            byte[] raw = new byte[12];
+            in.readFully(raw);
+            return new ObjectId(raw).toHexString();
+        }
+        return in.readUTF();
+    }
+
+    private static void writeKnownValue(DataOutputStream out, String value, String[] known)
+            throws IOException {
+        for (int i = 0; i < known.length; i++) {
+            if (known[i].equals(value)) {
+                out.writeByte(i + 1);
+                return;
+            }
+        }
+        out.writeByte(LITERAL);
+        out.writeUTF(value);
+    }
+
+    private static String readKnownValue(DataInputStream in, String[] known) throws IOException {
+        int code = in.readUnsignedByte();
+        if (code == LITERAL) {
+            return in.readUTF();
+        }
+        if (code > known.length) {
+            throw new IOException("Unknown value code " + code);
+        }
+        return known[code - 1];
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length);
+            byte[] buffer = new byte[512];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 2);
+            byte[] buffer = new byte[512];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated compressed customer payload");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException ex) {
+            throw new IOException("Corrupted compressed customer payload", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.customer.business.cache.codec;
+
+import com.customer.business.cache.CustomerCacheEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+/**
+ * {@link RedisSerializer} de {@link CustomerCacheEntry} con formato de escritura seleccionable.
+ *
+ * - {@link RedisValueFormat#JSON}: JSON con Jackson (formato histórico).
+ * - {@link RedisValueFormat#BINARY}: {@link CustomerBinaryCodec}.
+ *
+ * En modo migración se leen ambos formatos, detectando el binario por su cabecera.
+ * Despliegue recomendado:
+ * 1. migración activa y escritura JSON en todos los nodos;
+ * 2. escritura BINARY;
+ * 3. desactivar la migración cuando hayan expirado las entradas JSON (TTL).
+ */
+public class CustomerRedisSerializer implements RedisSerializer<CustomerCacheEntry> {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final RedisValueFormat writeFormat;
+
+    private final boolean migration;
+
+    private final CustomerBinaryCodec binaryCodec;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public CustomerRedisSerializer(RedisValueFormat writeFormat, boolean migration,
+                                   CustomerBinaryCodec binaryCodec) {
+        this.writeFormat = writeFormat;
+        this.migration = migration;
+        this.binaryCodec = binaryCodec;
+    }
+
+    @Override
+    public byte[] serialize(CustomerCacheEntry entry) throws SerializationException {
+        if (entry == null) {
+            return EMPTY;
+        }
+        try {
+            if (writeFormat == RedisValueFormat.BINARY) {
+                return binaryCodec.encode(entry);
+            }
+            return objectMapper.writeValueAsBytes(entry);
+        } catch (IOException | RuntimeException ex) {
+            throw new SerializationException("Cannot serialize customer", ex);
+        }
+    }
+
+    @Override
+    public CustomerCacheEntry deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        boolean binary = CustomerBinaryCodec.isBinary(bytes);
+        if (!migration && binary != (writeFormat == RedisValueFormat.BINARY)) {
+            throw new SerializationException(
+                    "Unexpected customer format in Redis; enable migration mode to read it");
+        }
+        try {
+            if (binary) {
+                return binaryCodec.decode(bytes);
+            }
+            return objectMapper.readValue(bytes, CustomerCacheEntry.class);
+        } catch (IOException | RuntimeException ex) {
+            throw new SerializationException("Cannot deserialize customer", ex);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.customer.business.cache.codec;
+
+/**
+ * Formato de escritura de los valores en Redis.
+ */
+public enum RedisValueFormat {
+    JSON,
+
+    BINARY
+}
@@ -1,31 +1,56 @@
 package com.customer.business.config;
 
+import com.customer.business.event.dto.CustomerEvent;
+import com.customer.business.event.serde.CustomerEventSerializer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.kafka.core.DefaultKafkaProducerFactory;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
 
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Productor reactivo (reactor-kafka) de eventos de cliente.
+ *
+ * - linger.ms y batch.size controlan cuánto se agrupan los mensajes por partición.
+ * - Con idempotencia activada el broker descarta los reintentos duplicados y
+ *   conserva el orden por partición (implica acks=all).
+ * - Los eventos se escriben en binario ({@link CustomerEventSerializer}); con
+ *   customer.events.delta-updates los UPDATED llevan solo los campos modificados.
+ */
 @Configuration
 public class KafkaConfig {
 
-    @Bean
-    public ProducerFactory<String, Object> producerFactory() {
+    @Bean(destroyMethod = "close")
+    public KafkaSender<String, CustomerEvent> kafkaSender(
+            @Value("${customer.kafka.producer.linger-ms:5}") int lingerMs,
+            @Value("${customer.kafka.producer.batch-size:65536}") int batchSize,
+            @Value("${customer.kafka.producer.compression-type:lz4}") String compressionType,
+            @Value("${customer.kafka.producer.idempotence:true}") boolean idempotence,
+            @Value("${customer.kafka.producer.max-in-flight:256}") int maxInFlight,
+            @Value("${customer.events.delta-updates:false}") boolean deltaUpdates) {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(config);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, CustomerEventSerializer.class);
+        config.put(CustomerEventSerializer.DELTA_UPDATES_CONFIG, deltaUpdates);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, idempotence);
+        if (idempotence) {
+            config.put(ProducerConfig.ACKS_CONFIG, "all");
+        }
+        SenderOptions<String, CustomerEvent> options =
+                SenderOptions.<String, CustomerEvent>create(config)
+                        // registros en vuelo en el sender (no las peticiones por conexión)
+                        .maxInFlight(maxInFlight)
+                        // cada resultado lleva su excepción; un fallo no cancela el lote
+                        .stopOnError(false);
+        return KafkaSender.create(options);
     }
-
-    @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
-    }
-}
\ No newline at end of file
+}
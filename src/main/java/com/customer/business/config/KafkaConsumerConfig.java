@@ -1,12 +1,19 @@
 package com.customer.business.config;
 
+import com.customer.business.event.dto.ProductEvent;
+import com.customer.business.event.serde.CustomerEventDeserializer;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
@@ -15,22 +22,92 @@ import java.util.Map;
 @Configuration
 public class KafkaConsumerConfig {
 
+    /**
+     * Con un {@link MeterRegistry} disponible publica las métricas del cliente Kafka
+     * (kafka.consumer.fetch.manager.records.lag.max, records.consumed.rate, ...).
+     */
     @Bean
-    public ConsumerFactory<String, Object> consumerFactory() {
+    public ConsumerFactory<String, Object> consumerFactory(
+            @Value("${customer.kafka.consumer.max-poll-records:500}") int maxPollRecords,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return withMetrics(new DefaultKafkaConsumerFactory<>(config(maxPollRecords)),
+                meterRegistry);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory,
+            @Value("${spring.kafka.listener.auto-startup:true}") boolean autoStartup) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = 
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setAutoStartup(autoStartup);
+        return factory;
+    }
+
+    /**
+     * Contenedor por lotes para "product-events". Los mensajes los publica el servicio
+     * de productos con sus propias cabeceras de tipo, así que se ignoran y se leen
+     * siempre como {@link ProductEvent}.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ProductEvent>
+            productEventListenerContainerFactory(
+            @Value("${customer.kafka.consumer.max-poll-records:500}") int maxPollRecords,
+            @Value("${spring.kafka.listener.auto-startup:true}") boolean autoStartup,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<String, Object> config = config(maxPollRecords);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        config.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, ProductEvent.class.getName());
+        ConcurrentKafkaListenerContainerFactory<String, ProductEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(withMetrics(new DefaultKafkaConsumerFactory<>(config),
+                meterRegistry));
+        factory.setAutoStartup(autoStartup);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        return factory;
+    }
+
+    /**
+     * Contenedor por lotes: cada llamada recibe lo devuelto por un poll y el offset
+     * se confirma una vez por lote. {@code concurrency} consumidores se reparten las
+     * particiones del tópico.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory,
+            @Value("${spring.kafka.listener.auto-startup:true}") boolean autoStartup,
+            @Value("${customer.kafka.consumer.concurrency:3}") int concurrency) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setAutoStartup(autoStartup);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        return factory;
+    }
+
+    private static Map<String, Object> config(int maxPollRecords) {
         Map<String, Object> config = new HashMap<>();
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
         config.put(ConsumerConfig.GROUP_ID_CONFIG, "customer-group");
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        // binario de customer-events y, para mensajes antiguos, JSON
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
+                CustomerEventDeserializer.class);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
         config.put(JsonDeserializer.TRUSTED_PACKAGES, "com.customer.business.event.dto");
-        return new DefaultKafkaConsumerFactory<>(config);
+        return config;
     }
 
-    @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, Object> factory = 
-            new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
+    private static <V> DefaultKafkaConsumerFactory<String, V> withMetrics(
+            DefaultKafkaConsumerFactory<String, V> factory,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        meterRegistry.ifAvailable(registry ->
+                factory.addListener(new MicrometerConsumerListener<>(registry)));
         return factory;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+package com.customer.business.config;
+
+import com.customer.business.model.entity.Customer;
+import com.customer.business.model.entity.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Índices de MongoDB que necesitan las consultas del servicio, creados al arrancar.
+ *
+ * - customers.dni y customers.ruc: únicos y parciales (solo documentos con un texto no
+ *   vacío; {@code $gt: ""} deja fuera los ausentes, los {@code null} y los vacíos), de
+ *   modo que el alta detecta duplicados con el error de clave duplicada en lugar de
+ *   consultar antes. También sirven a la comprobación por lotes de DNIs.
+ * - customer_outbox (createdAt, _id): orden de lectura del relay.
+ *
+ * Se crean de forma síncrona al terminar de instanciar los beans, antes de que el
+ * servidor web acepte peticiones: sin los índices únicos las altas no tendrían
+ * protección frente a duplicados. {@code ensureIndex} es idempotente; si un índice
+ * no se puede crear (p. ej. ya hay duplicados) el arranque falla.
+ */
+@Slf4j
+@Configuration
+public class MongoIndexConfig implements SmartInitializingSingleton {
+
+    public static final String DNI_INDEX = "customers_dni_unique";
+
+    public static final String RUC_INDEX = "customers_ruc_unique";
+
+    static final String OUTBOX_INDEX = "customer_outbox_created_at";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final Duration timeout;
+
+    public MongoIndexConfig(ReactiveMongoTemplate mongoTemplate,
+                            @Value("${customer.mongo.indexes.timeout:1m}") Duration timeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        ensureIndexes();
+    }
+
+    void ensureIndexes() {
+        Flux.concat(
+                ensure(Customer.class, uniqueWhenPresent("dni", DNI_INDEX)),
+                ensure(Customer.class, uniqueWhenPresent("ruc", RUC_INDEX)),
+                ensure(OutboxEvent.class, outboxOrder()))
+                .doOnNext(name -> log.info("[MONGO_INDEXES] ensured {}", name))
+                .then()
+                .block(timeout);
+    }
+
+    private Mono<String> ensure(Class<?> entityClass, Index index) {
+        return mongoTemplate.indexOps(entityClass).ensureIndex(index)
+                .onErrorMap(error -> new IllegalStateException("Cannot create index on "
+                        + mongoTemplate.getCollectionName(entityClass), error));
+    }
+
+    static Index uniqueWhenPresent(String field, String name) {
+        return new Index()
+                .on(field, Sort.Direction.ASC)
+                .unique()
+                .partial(PartialIndexFilter.of(Criteria.where(field).gt("")))
+                .named(name);
+    }
+
+    static Index outboxOrder() {
+        return new Index()
+                .on("createdAt", Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .named(OUTBOX_INDEX);
+    }
+}
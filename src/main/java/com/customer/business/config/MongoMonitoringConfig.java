@@ -0,0 +1,19 @@
+package com.customer.business.config;
+
+import com.customer.business.monitoring.MongoQueryMonitor;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra {@link MongoQueryMonitor} en el cliente MongoDB reactivo que crea Spring Boot.
+ */
+@Configuration
+public class MongoMonitoringConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoQueryMonitorCustomizer(
+            MongoQueryMonitor mongoQueryMonitor) {
+        return builder -> builder.addCommandListener(mongoQueryMonitor);
+    }
+}
@@ -1,6 +1,11 @@
 package com.customer.business.config;
 
-import com.customer.business.model.entity.Customer;
+import com.customer.business.cache.CustomerCacheEntry;
+import com.customer.business.cache.ProductCounts;
+import com.customer.business.cache.codec.CustomerBinaryCodec;
+import com.customer.business.cache.codec.CustomerRedisSerializer;
+import com.customer.business.cache.codec.RedisValueFormat;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,19 +19,39 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 @EnableCaching
 public class RedisConfig {
 
+    /**
+     * Template de clientes con formato de valor seleccionable (JSON o binario compacto).
+     * El template de objetos genéricos se mantiene en JSON porque sus valores no tienen
+     * un esquema conocido.
+     */
     @Bean
-    public ReactiveRedisTemplate<String, Customer> customerReactiveRedisTemplate(
-            ReactiveRedisConnectionFactory factory) {
-        Jackson2JsonRedisSerializer<Customer> serializer =
-                new Jackson2JsonRedisSerializer<>(Customer.class);
-        RedisSerializationContext<String, Customer> context =
-                RedisSerializationContext.<String, Customer>newSerializationContext(
+    public ReactiveRedisTemplate<String, CustomerCacheEntry> customerReactiveRedisTemplate(
+            ReactiveRedisConnectionFactory factory,
+            @Value("${customer.cache.redis.codec.format:JSON}") RedisValueFormat format,
+            @Value("${customer.cache.redis.codec.migration:false}") boolean migration,
+            @Value("${customer.cache.redis.codec.compression-threshold:512}")
+            int compressionThreshold) {
+        CustomerRedisSerializer serializer = new CustomerRedisSerializer(
+                format, migration, new CustomerBinaryCodec(compressionThreshold));
+        RedisSerializationContext<String, CustomerCacheEntry> context =
+                RedisSerializationContext.<String, CustomerCacheEntry>newSerializationContext(
                                 new StringRedisSerializer())
                         .value(serializer)
                         .build();
         return new ReactiveRedisTemplate<>(factory, context);
     }
 
+    @Bean
+    public ReactiveRedisTemplate<String, ProductCounts> productCountsReactiveRedisTemplate(
+            ReactiveRedisConnectionFactory factory) {
+        RedisSerializationContext<String, ProductCounts> context =
+                RedisSerializationContext.<String, ProductCounts>newSerializationContext(
+                                new StringRedisSerializer())
+                        .value(new Jackson2JsonRedisSerializer<>(ProductCounts.class))
+                        .build();
+        return new ReactiveRedisTemplate<>(factory, context);
+    }
+
     @Bean
     public ReactiveRedisTemplate<String, Object> objectReactiveRedisTemplate(
             ReactiveRedisConnectionFactory factory) {
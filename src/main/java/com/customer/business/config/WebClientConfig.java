@@ -1,16 +1,80 @@
 package com.customer.business.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Cliente HTTP del servicio de productos.
+ *
+ * - Pool propio ("product-service") con tamaño, cola de espera e inactividad
+ *   configurables; adquisición LIFO para reutilizar las conexiones más recientes y
+ *   dejar que el desalojo en segundo plano cierre las que sobran.
+ * - Timeouts de conexión y de respuesta, keep-alive y compresión de respuestas.
+ * - HTTP/2 opcional (h2c sobre http, h2 sobre https) con HTTP/1.1 como alternativa.
+ * - Métricas del pool (reactor.netty.connection.provider.*) y de las peticiones
+ *   (reactor.netty.http.client.*), con los ids de la URI agrupados.
+ */
 @Configuration
 public class WebClientConfig {
 
+    // segmentos de la URI con dígitos (ids): se agrupan para acotar las etiquetas
+    private static final Pattern ID_SEGMENT = Pattern.compile("/[^/]*\\d[^/]*");
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider productConnectionProvider(
+            @Value("${customer.product-client.pool.max-connections:200}") int maxConnections,
+            @Value("${customer.product-client.pool.pending-acquire-max-count:1000}")
+            int pendingAcquireMaxCount,
+            @Value("${customer.product-client.pool.pending-acquire-timeout:2s}")
+            Duration pendingAcquireTimeout,
+            @Value("${customer.product-client.pool.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${customer.product-client.pool.max-life-time:5m}") Duration maxLifeTime,
+            @Value("${customer.product-client.pool.evict-interval:30s}")
+            Duration evictInterval) {
+        return ConnectionProvider.builder("product-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInterval)
+                .lifo()
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient productWebClient() {
+    public WebClient productWebClient(
+            ConnectionProvider productConnectionProvider,
+            @Value("${customer.product-client.base-url:http://localhost:8082/api/products}")
+            String baseUrl,
+            @Value("${customer.product-client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${customer.product-client.response-timeout:5s}") Duration responseTimeout,
+            @Value("${customer.product-client.http2:false}") boolean http2) {
+        HttpClient httpClient = HttpClient.create(productConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout)
+                .keepAlive(true)
+                .compress(true)
+                .metrics(true, uri -> ID_SEGMENT.matcher(uri).replaceAll("/{id}"));
+        if (http2 && baseUrl.startsWith("https")) {
+            httpClient = httpClient.secure().protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        } else if (http2) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
         return WebClient.builder()
-                .baseUrl("http://localhost:8082/api/products")
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
 }
@@ -0,0 +1,45 @@
+package com.customer.business.event.consumer;
+
+import com.customer.business.cache.CustomerIdFilter;
+import com.customer.business.cache.CustomerNearCache;
+import com.customer.business.event.dto.CustomerEvent;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalida la cache local ({@link CustomerNearCache}) de este nodo a partir de
+ * los eventos de "customer-events", y registra las altas en el
+ * {@link CustomerIdFilter} de este nodo.
+ *
+ * Usa un groupId único por instancia para que cada nodo reciba todos los eventos
+ * (difusión), a diferencia de {@link CustomerEventConsumer}, que comparte grupo.
+ */
+@Slf4j
+@AllArgsConstructor
+@Component
+public class CustomerCacheInvalidationListener {
+
+    private final CustomerNearCache nearCache;
+
+    private final CustomerIdFilter idFilter;
+
+    @KafkaListener(
+            topics = "customer-events",
+            groupId = "customer-cache-#{T(java.util.UUID).randomUUID().toString()}")
+    public void onCustomerEvent(CustomerEvent event) {
+        if (event == null || event.getCustomer() == null) {
+            return;
+        }
+        String eventType = event.getEventType();
+        if ("CREATED".equals(eventType)) {
+            idFilter.add(event.getCustomer().getId());
+        }
+        if ("UPDATED".equals(eventType) || "DELETED".equals(eventType)) {
+            nearCache.evict(event.getCustomer().getId());
+            log.debug("[NEAR_CACHE] evicted id={} on {}",
+                    event.getCustomer().getId(), eventType);
+        }
+    }
+}
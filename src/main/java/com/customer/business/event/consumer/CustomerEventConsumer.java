@@ -1,17 +1,139 @@
 package com.customer.business.event.consumer;
 
 import com.customer.business.event.dto.CustomerEvent;
+import com.customer.business.service.CustomerSummaryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consumidor por lotes de "customer-events" (grupo compartido "customer-group").
+ *
+ * - Cada lote es un poll de una partición o más; el offset se confirma al terminarlo.
+ * - Los eventos se agrupan por clave (id del cliente): cada grupo se procesa en
+ *   orden y hasta {@code parallelism} grupos a la vez.
+ * - Cada evento actualiza la vista materializada ({@link CustomerSummaryService}).
+ * - Si el lote falla no se confirma y se vuelve a entregar (al menos una vez); los
+ *   eventos ya procesados se descartan por su id ({@link ProcessedEventStore}).
+ * - Un evento que otro nodo sigue procesando también hace fallar el lote, antes
+ *   del {@code batch-timeout}, para reintentarlo en la reentrega.
+ *
+ * Métricas: customer.events.consumed (por tipo), customer.events.duplicates y
+ * customer.events.batch (duración).
+ * El lag lo publica el cliente Kafka (ver {@code KafkaConsumerConfig}).
+ */
 @Slf4j
 @Component
 public class CustomerEventConsumer {
-    
-    @KafkaListener(topics = "customer-events")
-    public void consumeCustomerEvent(CustomerEvent event) {
-        log.info("Received customer event: {}", event);
-        // Handle event (e.g., update read model, send notifications)
+
+    private final CustomerSummaryService customerSummaryService;
+
+    private final ProcessedEventStore processedEventStore;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer batchTimer;
+
+    private final Counter duplicates;
+
+    private final int parallelism;
+
+    private final Duration batchTimeout;
+
+    public CustomerEventConsumer(
+            CustomerSummaryService customerSummaryService,
+            ProcessedEventStore processedEventStore,
+            MeterRegistry meterRegistry,
+            @Value("${customer.kafka.consumer.parallelism:16}") int parallelism,
+            @Value("${customer.kafka.consumer.batch-timeout:30s}") Duration batchTimeout) {
+        this.customerSummaryService = customerSummaryService;
+        this.processedEventStore = processedEventStore;
+        this.meterRegistry = meterRegistry;
+        this.batchTimer = Timer.builder("customer.events.batch")
+                .description("Duración del procesamiento de un lote de customer-events")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("customer.events.duplicates")
+                .description("Eventos de customer-events descartados por ya procesados")
+                .register(meterRegistry);
+        this.parallelism = parallelism;
+        this.batchTimeout = batchTimeout;
+    }
+
+    @KafkaListener(topics = "customer-events", containerFactory = "batchListenerContainerFactory")
+    public void consumeCustomerEvents(List<ConsumerRecord<String, CustomerEvent>> records) {
+        batchTimer.record(() -> {
+            process(records).block(batchTimeout);
+        });
+        log.debug("[CUSTOMER_EVENTS] batch size={}", records.size());
+    }
+
+    Mono<Void> process(List<ConsumerRecord<String, CustomerEvent>> records) {
+        return Flux.fromIterable(byKey(records).values())
+                .flatMap(events -> Flux.fromIterable(events).concatMap(this::handleOnce),
+                        parallelism)
+                .then();
+    }
+
+    /**
+     * Procesa el evento salvo que ya se haya procesado; si falla libera su id para
+     * que la reentrega lo procese.
+     */
+    Mono<Void> handleOnce(CustomerEvent event) {
+        String eventId = event.getEventId();
+        return processedEventStore.tryAcquire(eventId)
+                .flatMap(acquired -> {
+                    if (!acquired) {
+                        duplicates.increment();
+                        log.debug("[CUSTOMER_EVENTS] duplicate id={}", eventId);
+                        return Mono.empty();
+                    }
+                    return handle(event)
+                            .then(Mono.defer(() -> processedEventStore.completed(eventId)))
+                            .onErrorResume(error -> processedEventStore.release(eventId)
+                                    .then(Mono.error(error)));
+                });
+    }
+
+    /**
+     * Procesa un evento; los de un mismo cliente llegan de uno en uno y en orden.
+     */
+    Mono<Void> handle(CustomerEvent event) {
+        return customerSummaryService.apply(event)
+                .doOnSuccess(done -> {
+                    log.debug("Received customer event: {}", event);
+                    counter(event.getEventType()).increment();
+                });
+    }
+
+    private Counter counter(String eventType) {
+        return meterRegistry.counter("customer.events.consumed",
+                "type", eventType == null ? "UNKNOWN" : eventType);
+    }
+
+    // LinkedHashMap y listas en orden de llegada: conserva el orden dentro de cada clave
+    private static Map<String, List<CustomerEvent>> byKey(
+            List<ConsumerRecord<String, CustomerEvent>> records) {
+        Map<String, List<CustomerEvent>> groups = new LinkedHashMap<>();
+        for (ConsumerRecord<String, CustomerEvent> record : records) {
+            if (record.value() == null) {
+                continue;
+            }
+            groups.computeIfAbsent(String.valueOf(record.key()), key -> new ArrayList<>())
+                    .add(record.value());
+        }
+        return groups;
     }
-}
\ No newline at end of file
+}
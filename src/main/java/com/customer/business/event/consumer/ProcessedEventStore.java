@@ -0,0 +1,160 @@
+package com.customer.business.event.consumer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Registro de eventos ya procesados, para descartar las reentregas de Kafka.
+ *
+ * Cada id pasa por dos estados en Redis ({@value #KEY_PREFIX}{id}):
+ * - {@value #PROCESSING}: reserva con TTL corto ({@code processing-ttl}) mientras un
+ *   nodo procesa el evento. Si ese nodo cae o pierde la partición en un rebalanceo,
+ *   la reserva caduca sola y la reentrega se procesa.
+ * - {@value #DONE}: escrito por {@link #completed} con TTL igual a la ventana; solo
+ *   los eventos en este estado se descartan.
+ *
+ * Una reentrega que encuentra la reserva de otro nodo reintenta cada
+ * {@code retry-delay} hasta que el evento termina (se descarta) o la reserva caduca
+ * (se procesa). La espera dura como mucho la mitad del {@code batch-timeout} del
+ * consumidor; si se agota falla con {@link EventInProgressException}, el lote no se
+ * confirma y el contenedor lo vuelve a entregar. Nivel local: los ids terminados en
+ * este nodo se descartan sin ir a Redis. Si Redis no responde el evento se procesa
+ * igualmente (al menos una vez).
+ */
+@Slf4j
+@Component
+public class ProcessedEventStore {
+
+    static final String KEY_PREFIX = "customer-events:processed:";
+
+    static final String PROCESSING = "processing";
+
+    static final String DONE = "done";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    private final Cache<String, Boolean> recent;
+
+    private final Duration window;
+
+    private final Duration processingTtl;
+
+    private final Duration retryDelay;
+
+    private final Duration maxWait;
+
+    public ProcessedEventStore(
+            ReactiveStringRedisTemplate redisTemplate,
+            @Value("${customer.events.dedup.window:1h}") Duration window,
+            @Value("${customer.events.dedup.processing-ttl:30s}") Duration processingTtl,
+            @Value("${customer.events.dedup.retry-delay:1s}") Duration retryDelay,
+            @Value("${customer.kafka.consumer.batch-timeout:30s}") Duration batchTimeout,
+            @Value("${customer.events.dedup.local-size:100000}") long localSize) {
+        this.redisTemplate = redisTemplate;
+        this.window = window;
+        this.processingTtl = processingTtl;
+        this.retryDelay = retryDelay;
+        // el lote tiene que terminar antes del batch-timeout aunque espere una reserva
+        this.maxWait = batchTimeout.dividedBy(2);
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(localSize)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Reserva el evento para procesarlo. Si otro nodo lo está procesando espera a
+     * que termine o a que caduque su reserva, como mucho {@code batch-timeout / 2}.
+     *
+     * @param eventId id del evento; sin id no se puede deduplicar
+     * @return true si hay que procesarlo, false si ya se procesó;
+     *         {@link EventInProgressException} si otro nodo lo sigue procesando
+     */
+    public Mono<Boolean> tryAcquire(String eventId) {
+        if (eventId == null) {
+            return Mono.just(Boolean.TRUE);
+        }
+        if (recent.getIfPresent(eventId) != null) {
+            return Mono.just(Boolean.FALSE);
+        }
+        long maxRetries = maxWait.toMillis() / Math.max(1L, retryDelay.toMillis());
+        return Mono.defer(() -> claim(eventId))
+                .onErrorResume(error -> {
+                    log.warn("[CUSTOMER_EVENTS] dedup store unavailable id={}: {}",
+                            eventId, error.toString());
+                    return Mono.just(Boolean.TRUE);
+                })
+                .repeatWhenEmpty(attempts -> attempts.take(maxRetries).delayElements(retryDelay))
+                .switchIfEmpty(Mono.error(() -> new EventInProgressException(eventId)));
+    }
+
+    // true: reservado; false: ya terminado; vacío: en proceso en otro nodo
+    private Mono<Boolean> claim(String eventId) {
+        String key = KEY_PREFIX + eventId;
+        return redisTemplate.opsForValue()
+                .setIfAbsent(key, PROCESSING, processingTtl)
+                .defaultIfEmpty(Boolean.TRUE)
+                .flatMap(acquired -> {
+                    if (acquired) {
+                        return Mono.just(Boolean.TRUE);
+                    }
+                    return redisTemplate.opsForValue().get(key)
+                            .filter(DONE::equals)
+                            .map(done -> {
+                                recent.put(eventId, Boolean.TRUE);
+                                return Boolean.FALSE;
+                            });
+                });
+    }
+
+    /**
+     * Marca el evento como procesado: pasa a {@value #DONE} con TTL igual a la ventana.
+     */
+    public Mono<Void> completed(String eventId) {
+        if (eventId == null) {
+            return Mono.empty();
+        }
+        recent.put(eventId, Boolean.TRUE);
+        return redisTemplate.opsForValue()
+                .set(KEY_PREFIX + eventId, DONE, window)
+                .then()
+                .onErrorResume(error -> {
+                    log.warn("[CUSTOMER_EVENTS] cannot mark done id={}: {}",
+                            eventId, error.toString());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Libera la reserva de un evento cuyo procesamiento falló, para que la
+     * reentrega lo procese sin esperar a que caduque.
+     */
+    public Mono<Void> release(String eventId) {
+        if (eventId == null) {
+            return Mono.empty();
+        }
+        return redisTemplate.delete(KEY_PREFIX + eventId)
+                .then()
+                .onErrorResume(error -> {
+                    log.warn("[CUSTOMER_EVENTS] cannot release id={}: {}",
+                            eventId, error.toString());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Otro nodo mantiene la reserva del evento más allá de la espera permitida.
+     */
+    public static class EventInProgressException extends RuntimeException {
+        public EventInProgressException(String eventId) {
+            super("Event " + eventId + " is being processed by another consumer");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.customer.business.event.consumer;
+
+import com.customer.business.cache.ProductCountsCache;
+import com.customer.business.event.dto.ProductEvent;
+import com.customer.business.service.CustomerSummaryService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mantiene los productos de la vista materializada de clientes a partir de
+ * "product-events" e invalida el resumen de productos cacheado de cada cliente
+ * ({@link ProductCountsCache}).
+ *
+ * Igual que {@link CustomerEventConsumer}: lotes por poll, eventos de un mismo
+ * cliente en orden y clientes distintos en paralelo.
+ */
+@Slf4j
+@Component
+public class ProductEventConsumer {
+
+    private final CustomerSummaryService customerSummaryService;
+
+    private final ProductCountsCache productCountsCache;
+
+    private final int parallelism;
+
+    private final Duration batchTimeout;
+
+    public ProductEventConsumer(
+            CustomerSummaryService customerSummaryService,
+            ProductCountsCache productCountsCache,
+            @Value("${customer.kafka.consumer.parallelism:16}") int parallelism,
+            @Value("${customer.kafka.consumer.batch-timeout:30s}") Duration batchTimeout) {
+        this.customerSummaryService = customerSummaryService;
+        this.productCountsCache = productCountsCache;
+        this.parallelism = parallelism;
+        this.batchTimeout = batchTimeout;
+    }
+
+    @KafkaListener(topics = "product-events",
+            containerFactory = "productEventListenerContainerFactory")
+    public void consumeProductEvents(List<ConsumerRecord<String, ProductEvent>> records) {
+        process(records).block(batchTimeout);
+        log.debug("[PRODUCT_EVENTS] batch size={}", records.size());
+    }
+
+    Mono<Void> process(List<ConsumerRecord<String, ProductEvent>> records) {
+        return Flux.fromIterable(byCustomer(records).entrySet())
+                .flatMap(group -> Flux.fromIterable(group.getValue())
+                        .concatMap(customerSummaryService::apply)
+                        .then(productCountsCache.evict(group.getKey())), parallelism)
+                .then();
+    }
+
+    private static Map<String, List<ProductEvent>> byCustomer(
+            List<ConsumerRecord<String, ProductEvent>> records) {
+        Map<String, List<ProductEvent>> groups = new LinkedHashMap<>();
+        for (ConsumerRecord<String, ProductEvent> record : records) {
+            ProductEvent event = record.value();
+            if (event == null || event.getProduct() == null) {
+                continue;
+            }
+            groups.computeIfAbsent(String.valueOf(event.getProduct().getCustomerId()),
+                    customerId -> new ArrayList<>()).add(event);
+        }
+        return groups;
+    }
+}
@@ -1,12 +1,15 @@
 package com.customer.business.event.dto;
 
 import com.customer.business.model.entity.Customer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
 
 @Getter
 @Setter
@@ -20,4 +23,29 @@ public class CustomerEvent {
 
     private LocalDateTime timestamp;
 
-}
\ No newline at end of file
+    /**
+     * Campos modificados en un UPDATED, o null si el evento no lo indica. En un evento
+     * delta el cliente solo trae el id y estos campos (un campo a null se borró).
+     */
+    private Set<String> changedFields;
+
+    /**
+     * Identificador único del evento (UUID), asignado al crearlo: los reenvíos del
+     * mismo evento lo conservan y los consumidores lo usan para descartar duplicados.
+     */
+    private String eventId;
+
+    public CustomerEvent(String eventType, Customer customer, LocalDateTime timestamp) {
+        this(eventType, customer, timestamp, null);
+    }
+
+    public CustomerEvent(String eventType, Customer customer, LocalDateTime timestamp,
+                         Set<String> changedFields) {
+        this(eventType, customer, timestamp, changedFields, UUID.randomUUID().toString());
+    }
+
+    @JsonIgnore
+    public boolean isDelta() {
+        return changedFields != null;
+    }
+}
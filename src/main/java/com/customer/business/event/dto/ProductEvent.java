@@ -0,0 +1,25 @@
+package com.customer.business.event.dto;
+
+import com.customer.business.model.dto.ProductDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento del tópico "product-events" publicado por el servicio de productos.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductEvent {
+
+    private String eventType; // CREATED | UPDATED | DELETED
+
+    private ProductDTO product;
+
+    private LocalDateTime timestamp;
+}
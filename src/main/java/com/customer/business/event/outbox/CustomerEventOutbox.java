@@ -0,0 +1,112 @@
+package com.customer.business.event.outbox;
+
+import com.customer.business.event.dto.CustomerEvent;
+import com.customer.business.model.entity.Customer;
+import com.customer.business.model.entity.OutboxEvent;
+import com.customer.business.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Escritura de eventos de cliente en el outbox ("customer_outbox").
+ *
+ * - El evento se guarda en MongoDB justo después del cambio del cliente y
+ *   {@link CustomerOutboxRelay} lo publica en "customer-events" en segundo plano,
+ *   de modo que Kafka no añade latencia ni puede perder eventos en la escritura.
+ * - Por defecto el cambio y el evento se escriben en la misma transacción (requiere
+ *   replica set), de modo que un cliente nunca queda guardado sin su evento.
+ * - customer.outbox.transactional=false los escribe en secuencia, para entornos de
+ *   desarrollo sin replica set: una caída entre ambas escrituras pierde el evento.
+ */
+@Component
+public class CustomerEventOutbox {
+
+    private final OutboxEventRepository outboxRepository;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final boolean transactional;
+
+    private final Sinks.Many<Boolean> appended = Sinks.many().multicast().directBestEffort();
+
+    public CustomerEventOutbox(OutboxEventRepository outboxRepository,
+                               TransactionalOperator transactionalOperator,
+                               @Value("${customer.outbox.transactional:true}")
+                               boolean transactional) {
+        this.outboxRepository = outboxRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.transactional = transactional;
+    }
+
+    /**
+     * Aplica el cambio y registra su evento.
+     *
+     * @param eventType CREATED, UPDATED o DELETED
+     * @param change escritura del cliente; emite el cliente resultante
+     * @return el cliente, una vez guardados el cambio y el evento
+     */
+    public Mono<Customer> write(String eventType, Mono<Customer> change) {
+        return write(eventType, change, null);
+    }
+
+    /**
+     * Como {@link #write(String, Mono)}, indicando los campos modificados para que el
+     * evento pueda publicarse como delta.
+     *
+     * @param changedFields campos modificados; null si no se conocen
+     */
+    public Mono<Customer> write(String eventType, Mono<Customer> change,
+                                Set<String> changedFields) {
+        Mono<Customer> write = change.flatMap(customer -> outboxRepository
+                .save(OutboxEvent.of(new CustomerEvent(eventType, customer,
+                        LocalDateTime.now(), changedFields)))
+                .thenReturn(customer));
+        return (transactional ? transactionalOperator.transactional(write) : write)
+                .doOnSuccess(customer -> notifyAppended());
+    }
+
+    /**
+     * Aplica un cambio masivo y registra un evento por cliente, en una sola escritura
+     * y en la misma transacción que el cambio (como {@link #write(String, Mono)}).
+     *
+     * @param change escritura de los clientes; emite los clientes resultantes
+     * @return los clientes, una vez guardados el cambio y los eventos
+     */
+    public Mono<List<Customer>> writeAll(String eventType, Flux<Customer> change) {
+        Mono<List<Customer>> write = change.collectList()
+                .flatMap(customers -> {
+                    if (customers.isEmpty()) {
+                        return Mono.just(customers);
+                    }
+                    LocalDateTime now = LocalDateTime.now();
+                    List<OutboxEvent> events = customers.stream()
+                            .map(customer -> OutboxEvent.of(
+                                    new CustomerEvent(eventType, customer, now)))
+                            .collect(Collectors.toList());
+                    return outboxRepository.saveAll(events).then(Mono.just(customers));
+                });
+        return (transactional ? transactionalOperator.transactional(write) : write)
+                .doOnSuccess(customers -> notifyAppended());
+    }
+
+    /**
+     * Señal emitida tras cada escritura, para que el relay no espere al siguiente sondeo.
+     */
+    public Flux<Boolean> appended() {
+        return appended.asFlux();
+    }
+
+    private void notifyAppended() {
+        // si se pierde la señal el relay publica en el siguiente sondeo
+        appended.tryEmitNext(Boolean.TRUE);
+    }
+}
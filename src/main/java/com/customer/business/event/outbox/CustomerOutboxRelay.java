@@ -0,0 +1,202 @@
+package com.customer.business.event.outbox;
+
+import com.customer.business.event.producer.CustomerEventPublisher;
+import com.customer.business.model.entity.OutboxEvent;
+import com.customer.business.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.SenderResult;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Publica en "customer-events" los eventos pendientes del outbox.
+ *
+ * - Se despierta con cada escritura del outbox y, como respaldo, cada
+ *   {@code customer.outbox.poll-interval}.
+ * - Solo publica el nodo que tiene la concesión ("customer_outbox_lock"), de modo
+ *   que los eventos salen en el orden en que se escribieron.
+ * - Envía cada lote completo con {@link CustomerEventPublisher} sin esperar entre
+ *   mensajes (el productor los agrupa según linger.ms y batch.size) y espera las
+ *   confirmaciones sin bloquear hilos.
+ * - Borra los eventos confirmados salvo los posteriores a un fallo de la misma
+ *   clave, que se reenvían junto con el fallido: entrega al menos una vez y el
+ *   último evento recibido de cada cliente es siempre el más reciente.
+ */
+@Slf4j
+@Component
+public class CustomerOutboxRelay {
+
+    static final String LOCK_COLLECTION = "customer_outbox_lock";
+
+    static final String LOCK_ID = "customer-outbox-relay";
+
+    private final OutboxEventRepository outboxRepository;
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final CustomerEventPublisher eventPublisher;
+
+    private final CustomerEventOutbox outbox;
+
+    private final int batchSize;
+
+    private final Duration pollInterval;
+
+    private final Duration leaseTtl;
+
+    private final String owner = UUID.randomUUID().toString();
+
+    private Disposable subscription;
+
+    public CustomerOutboxRelay(OutboxEventRepository outboxRepository,
+                               ReactiveMongoTemplate mongoTemplate,
+                               CustomerEventPublisher eventPublisher,
+                               CustomerEventOutbox outbox,
+                               @Value("${customer.outbox.batch-size:500}") int batchSize,
+                               @Value("${customer.outbox.poll-interval:1s}")
+                               Duration pollInterval,
+                               @Value("${customer.outbox.lease-ttl:30s}") Duration leaseTtl) {
+        this.outboxRepository = outboxRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.outbox = outbox;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.leaseTtl = leaseTtl;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = Flux.merge(Flux.interval(pollInterval).map(tick -> Boolean.TRUE),
+                        outbox.appended())
+                // las señales que llegan durante un vaciado las cubre ese mismo vaciado
+                .onBackpressureDrop()
+                .concatMap(signal -> drain()
+                        .onErrorResume(error -> {
+                            log.warn("[CUSTOMER_OUTBOX] drain failed: {}", error.toString());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+        log.info("[CUSTOMER_OUTBOX] relay started owner={} batchSize={}", owner, batchSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Publica lotes mientras salgan completos y confirmados.
+     *
+     * @return número de eventos publicados y borrados
+     */
+    Mono<Long> drain() {
+        return acquireLease()
+                .filter(Boolean::booleanValue)
+                .flatMap(leased -> relayBatch()
+                        .expand(relayed -> relayed == batchSize ? relayBatch() : Mono.empty())
+                        .reduce(0L, (total, relayed) -> total + Math.max(relayed, 0)))
+                .defaultIfEmpty(0L);
+    }
+
+    /**
+     * @return eventos publicados, o -1 si alguno falló
+     */
+    private Mono<Integer> relayBatch() {
+        PageRequest page = PageRequest.of(0, batchSize, Sort.by("createdAt", "id"));
+        return outboxRepository.findAllBy(page)
+                .collectList()
+                .flatMap(events -> {
+                    if (events.isEmpty()) {
+                        return Mono.just(0);
+                    }
+                    return publish(events).flatMap(acked -> {
+                        List<String> ids = acked.stream()
+                                .map(OutboxEvent::getId)
+                                .collect(Collectors.toList());
+                        Mono<Void> delete = ids.isEmpty()
+                                ? Mono.empty() : outboxRepository.deleteAllById(ids);
+                        log.debug("[CUSTOMER_OUTBOX] batch size={} acked={}",
+                                events.size(), acked.size());
+                        return delete.thenReturn(
+                                acked.size() == events.size() ? acked.size() : -1);
+                    });
+                });
+    }
+
+    /**
+     * Envía el lote en orden y espera las confirmaciones.
+     *
+     * @return eventos confirmados que pueden borrarse
+     */
+    Mono<List<OutboxEvent>> publish(List<OutboxEvent> events) {
+        return eventPublisher.publishAll(Flux.fromIterable(events).map(event ->
+                        CustomerEventPublisher.record(event.getEvent(), event.getId())))
+                .collectMap(SenderResult::correlationMetadata, this::acknowledged)
+                .map(acks -> acked(events, acks));
+    }
+
+    private boolean acknowledged(SenderResult<String> result) {
+        if (result.exception() == null) {
+            return true;
+        }
+        log.warn("[CUSTOMER_OUTBOX] send failed, will retry id={}: {}",
+                result.correlationMetadata(), result.exception().toString());
+        return false;
+    }
+
+    private static List<OutboxEvent> acked(List<OutboxEvent> events, Map<String, Boolean> acks) {
+        Set<String> failedKeys = new HashSet<>();
+        List<OutboxEvent> acked = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            if (!acks.getOrDefault(event.getId(), Boolean.FALSE)) {
+                failedKeys.add(event.getKey());
+            } else if (!failedKeys.contains(event.getKey())) {
+                acked.add(event);
+            }
+        }
+        return acked;
+    }
+
+    /**
+     * Toma o renueva la concesión del relay; falla si otro nodo la tiene vigente.
+     */
+    private Mono<Boolean> acquireLease() {
+        Instant now = Instant.now();
+        Query query = Query.query(Criteria.where("_id").is(LOCK_ID)
+                .orOperator(Criteria.where("owner").is(owner),
+                        Criteria.where("expiresAt").lt(now)));
+        Update update = new Update()
+                .set("owner", owner)
+                .set("expiresAt", now.plus(leaseTtl));
+        return mongoTemplate.upsert(query, update, LOCK_COLLECTION)
+                .thenReturn(Boolean.TRUE)
+                // sin coincidencia el upsert intenta insertar el mismo _id
+                .onErrorResume(DuplicateKeyException.class, error -> Mono.just(Boolean.FALSE));
+    }
+}
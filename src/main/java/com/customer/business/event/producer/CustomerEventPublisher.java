@@ -0,0 +1,48 @@
+package com.customer.business.event.producer;
+
+import com.customer.business.event.dto.CustomerEvent;
+import lombok.AllArgsConstructor;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+
+/**
+ * Publica eventos de cliente en "customer-events" con {@link KafkaSender}, sin bloquear
+ * hilos: el envío y la confirmación se integran en la cadena reactiva del llamador.
+ *
+ * La clave del mensaje es el id del cliente, así que los eventos de un mismo cliente
+ * van a la misma partición y se consumen en orden.
+ */
+@Component
+@AllArgsConstructor
+public class CustomerEventPublisher {
+
+    public static final String TOPIC = "customer-events";
+
+    private final KafkaSender<String, CustomerEvent> kafkaSender;
+
+    /**
+     * Envía los eventos en orden, sin esperar entre ellos.
+     *
+     * @param events pares (dato de correlación, evento)
+     * @param <T> tipo del dato de correlación (p. ej. el id del outbox)
+     * @return un resultado por evento, con la excepción si falló
+     */
+    public <T> Flux<SenderResult<T>> publishAll(
+            Flux<SenderRecord<String, CustomerEvent, T>> events) {
+        return kafkaSender.send(events);
+    }
+
+    /**
+     * Crea el registro de envío para {@link #publishAll}.
+     */
+    public static <T> SenderRecord<String, CustomerEvent, T> record(CustomerEvent event,
+                                                                    T correlationMetadata) {
+        return SenderRecord.create(
+                new ProducerRecord<>(TOPIC, event.getCustomer().getId(), event),
+                correlationMetadata);
+    }
+}
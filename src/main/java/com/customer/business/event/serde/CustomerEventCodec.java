@@ -0,0 +1,210 @@
+package com.customer.business.event.serde;
+
+import com.customer.business.cache.codec.CustomerBinaryCodec;
+import com.customer.business.event.dto.CustomerEvent;
+import com.customer.business.mapper.CustomerFields;
+import com.customer.business.model.entity.Customer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Formato binario de {@link CustomerEvent} para "customer-events".
+ *
+ * <pre>
+ * [MAGIC][id de esquema][tipo][id de evento][segundos (long)][nanos (int)][cuerpo]
+ * esquema 1 (completo) = [cliente]
+ * esquema 2 (delta)    = [máscara de campos modificados (short)][cliente parcial]
+ * </pre>
+ *
+ * - El cliente se escribe con {@link CustomerBinaryCodec#writeCustomer}, incluida su
+ *   versión (también en los delta).
+ * - El tipo ocupa un byte si es CREATED, UPDATED o DELETED.
+ * - El id de evento ocupa 16 bytes si es un UUID.
+ * - La máscara sigue el orden fijo de {@code DELTA_FIELDS}, independiente de
+ *   {@link CustomerFields#ALLOWED}; un campo marcado y ausente en el cliente parcial
+ *   se borró.
+ * - Los lectores rechazan ids de esquema que no conocen, así que un esquema nuevo se
+ *   despliega primero en los consumidores y después en el productor.
+ */
+public final class CustomerEventCodec {
+
+    public static final byte MAGIC = (byte) 0xCE;
+
+    static final byte SCHEMA_FULL = 1;
+
+    static final byte SCHEMA_DELTA = 2;
+
+    private static final byte LITERAL = 0;
+
+    private static final byte NO_ID = 0;
+
+    private static final byte UUID_ID = 1;
+
+    private static final byte STRING_ID = 2;
+
+    private static final String[] EVENT_TYPES = {"CREATED", "UPDATED", "DELETED"};
+
+    // bit de cada campo en la máscara delta: forma parte del formato, solo se añade al final
+    private static final String[] DELTA_FIELDS = {
+        CustomerFields.ID, "customerType", "profile", "firstName", "lastName", "businessName",
+        "dni", "ruc", "address", "phone", "email"
+    };
+
+    private CustomerEventCodec() {
+    }
+
+    /**
+     * Indica si los bytes tienen la cabecera del formato binario (un JSON empieza por '{').
+     */
+    public static boolean isBinary(byte[] bytes) {
+        return bytes != null && bytes.length > 2 && bytes[0] == MAGIC;
+    }
+
+    /**
+     * @param delta si es true y el evento trae campos modificados, escribe solo esos
+     */
+    public static byte[] encode(CustomerEvent event, boolean delta) {
+        if (event.getCustomer() == null) {
+            throw new IllegalArgumentException("Customer event without customer");
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            boolean writeDelta = delta && event.isDelta();
+            out.writeByte(MAGIC);
+            out.writeByte(writeDelta ? SCHEMA_DELTA : SCHEMA_FULL);
+            writeEventType(out, event.getEventType());
+            writeEventId(out, event.getEventId());
+            LocalDateTime timestamp = event.getTimestamp() == null
+                    ? LocalDateTime.now() : event.getTimestamp();
+            out.writeLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(timestamp.getNano());
+            Customer customer = event.getCustomer();
+            if (writeDelta) {
+                out.writeShort(mask(event.getChangedFields()));
+                Set<String> retained = new LinkedHashSet<>(event.getChangedFields());
+                retained.add(CustomerFields.ID);
+                customer = CustomerFields.retain(customer, retained);
+                customer.setVersion(event.getCustomer().getVersion());
+            }
+            CustomerBinaryCodec.writeCustomer(out, customer);
+            return bytes.toByteArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot encode customer event", ex);
+        }
+    }
+
+    public static CustomerEvent decode(byte[] bytes) {
+        if (!isBinary(bytes)) {
+            throw new IllegalArgumentException("Not a binary customer event");
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 1,
+                    bytes.length - 1));
+            byte schema = in.readByte();
+            if (schema != SCHEMA_FULL && schema != SCHEMA_DELTA) {
+                throw new IllegalArgumentException("Unsupported customer event schema " + schema);
+            }
+            boolean delta = schema == SCHEMA_DELTA;
+            String eventType = readEventType(in);
+            String eventId = readEventId(in);
+            LocalDateTime timestamp = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(),
+                    ZoneOffset.UTC);
+            Set<String> changedFields = delta ? fields(in.readShort()) : null;
+            Customer customer = CustomerBinaryCodec.readCustomer(in);
+            return new CustomerEvent(eventType, customer, timestamp, changedFields, eventId);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot decode customer event", ex);
+        }
+    }
+
+    static short mask(Set<String> fields) {
+        short mask = 0;
+        for (int i = 0; i < DELTA_FIELDS.length; i++) {
+            if (fields.contains(DELTA_FIELDS[i])) {
+                mask |= (short) (1 << i);
+            }
+        }
+        return mask;
+    }
+
+    static Set<String> fields(short mask) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (int i = 0; i < DELTA_FIELDS.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                fields.add(DELTA_FIELDS[i]);
+            }
+        }
+        return fields;
+    }
+
+    private static void writeEventId(DataOutputStream out, String eventId) throws IOException {
+        if (eventId == null) {
+            out.writeByte(NO_ID);
+            return;
+        }
+        UUID uuid = parseUuid(eventId);
+        if (uuid != null) {
+            out.writeByte(UUID_ID);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            out.writeByte(STRING_ID);
+            out.writeUTF(eventId);
+        }
+    }
+
+    private static String readEventId(DataInputStream in) throws IOException {
+        byte kind = in.readByte();
+        if (kind == NO_ID) {
+            return null;
+        }
+        if (kind == UUID_ID) {
+            return new UUID(in.readLong(), in.readLong()).toString();
+        }
+        return in.readUTF();
+    }
+
+    // solo la forma canónica en minúsculas, para que la lectura devuelva el mismo texto
+    private static UUID parseUuid(String value) {
+        try {
+            UUID uuid = UUID.fromString(value);
+            return uuid.toString().equals(value) ? uuid : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static void writeEventType(DataOutputStream out, String eventType)
+            throws IOException {
+        for (int i = 0; i < EVENT_TYPES.length; i++) {
+            if (EVENT_TYPES[i].equals(eventType)) {
+                out.writeByte(i + 1);
+                return;
+            }
+        }
+        out.writeByte(LITERAL);
+        out.writeUTF(eventType == null ? "" : eventType);
+    }
+
+    private static String readEventType(DataInputStream in) throws IOException {
+        int code = in.readUnsignedByte();
+        if (code == LITERAL) {
+            return in.readUTF();
+        }
+        if (code > EVENT_TYPES.length) {
+            throw new IOException("Unknown event type code " + code);
+        }
+        return EVENT_TYPES[code - 1];
+    }
+}
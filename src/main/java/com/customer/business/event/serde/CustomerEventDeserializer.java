@@ -0,0 +1,54 @@
+package com.customer.business.event.serde;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Map;
+
+/**
+ * Deserializador Kafka de "customer-events".
+ *
+ * Lee el formato binario de {@link CustomerEventCodec} y, para los mensajes
+ * publicados antes del cambio de formato, delega en {@link JsonDeserializer}
+ * (configurado con las mismas propiedades del consumidor).
+ */
+public class CustomerEventDeserializer implements Deserializer<Object> {
+
+    private final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        if (CustomerEventCodec.isBinary(data)) {
+            return decode(data);
+        }
+        return jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (CustomerEventCodec.isBinary(data)) {
+            return decode(data);
+        }
+        return jsonDeserializer.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+
+    private static Object decode(byte[] data) {
+        try {
+            return CustomerEventCodec.decode(data);
+        } catch (RuntimeException ex) {
+            throw new SerializationException("Cannot deserialize customer event", ex);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.customer.business.event.serde;
+
+import com.customer.business.event.dto.CustomerEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Map;
+
+/**
+ * Serializador Kafka de {@link CustomerEvent} con {@link CustomerEventCodec}.
+ *
+ * Con {@value #DELTA_UPDATES_CONFIG}=true los UPDATED que indican sus campos
+ * modificados se envían como delta.
+ */
+public class CustomerEventSerializer implements Serializer<CustomerEvent> {
+
+    public static final String DELTA_UPDATES_CONFIG = "customer.events.delta-updates";
+
+    private boolean deltaUpdates;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object delta = configs.get(DELTA_UPDATES_CONFIG);
+        deltaUpdates = delta != null && Boolean.parseBoolean(delta.toString());
+    }
+
+    @Override
+    public byte[] serialize(String topic, CustomerEvent event) {
+        if (event == null) {
+            return null;
+        }
+        try {
+            return CustomerEventCodec.encode(event, deltaUpdates);
+        } catch (RuntimeException ex) {
+            throw new SerializationException("Cannot serialize customer event", ex);
+        }
+    }
+}
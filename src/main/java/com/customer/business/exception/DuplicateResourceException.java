@@ -0,0 +1,10 @@
+package com.customer.business.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class DuplicateResourceException extends BusinessException {
+    public DuplicateResourceException(String field) {
+        super(String.format("%s already exists", field),
+              HttpStatus.CONFLICT, "DUPLICATE_RESOURCE");
+    }
+}
@@ -0,0 +1,10 @@
+package com.customer.business.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class VersionConflictException extends BusinessException {
+    public VersionConflictException(String resourceName, String identifier) {
+        super(String.format("%s with id %s was modified concurrently", resourceName, identifier),
+              HttpStatus.CONFLICT, "VERSION_CONFLICT");
+    }
+}
@@ -0,0 +1,241 @@
+package com.customer.business.loader;
+
+import com.customer.business.exception.ValidationException;
+import com.customer.business.mapper.CustomerMapper;
+import com.customer.business.model.CustomerCreateRequest;
+import com.customer.business.model.dto.CustomerBatchItem;
+import com.customer.business.service.CustomerBatchService;
+import com.customer.business.validator.CreateCustomerValidator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Carga masiva de clientes desde un archivo (perfil {@value #PROFILE}, sin servidor web).
+ *
+ * Uso:
+ * <pre>
+ * java -jar ms-customer-business.jar --spring.profiles.active=loader \
+ *      --customer.loader.file=data.json
+ * </pre>
+ *
+ * - Acepta un arreglo JSON (como data.json) o NDJSON; el archivo se lee elemento a
+ *   elemento, con memoria constante.
+ * - Cada elemento se valida con {@link CreateCustomerValidator} y se mapea con
+ *   {@link CustomerMapper}; los que no se pueden leer o no son válidos se rechazan.
+ * - Los aceptados se insertan con {@link CustomerBatchService#importAll} en bloques
+ *   de {@code chunk-size}, con {@code concurrency} bloques en paralelo.
+ * - Al terminar informa el rendimiento y las filas rechazadas. El código de salida
+ *   es 2 si hubo filas rechazadas o fallidas.
+ */
+@Slf4j
+@Profile(CustomerBulkLoader.PROFILE)
+@Component
+public class CustomerBulkLoader implements ApplicationRunner, ExitCodeGenerator {
+
+    public static final String PROFILE = "loader";
+
+    private static final int MAX_REPORTED_ROWS = 100;
+
+    private final ObjectReader reader;
+
+    private final CreateCustomerValidator createValidator;
+
+    private final CustomerMapper customerMapper;
+
+    private final CustomerBatchService customerBatchService;
+
+    private final String file;
+
+    private final int chunkSize;
+
+    private final int concurrency;
+
+    private int exitCode;
+
+    public CustomerBulkLoader(ObjectMapper objectMapper,
+                              CreateCustomerValidator createValidator,
+                              CustomerMapper customerMapper,
+                              CustomerBatchService customerBatchService,
+                              @Value("${customer.loader.file:}") String file,
+                              @Value("${customer.loader.chunk-size:1000}") int chunkSize,
+                              @Value("${customer.loader.concurrency:4}") int concurrency) {
+        this.reader = objectMapper.readerFor(CustomerCreateRequest.class);
+        this.createValidator = createValidator;
+        this.customerMapper = customerMapper;
+        this.customerBatchService = customerBatchService;
+        this.file = file;
+        this.chunkSize = chunkSize;
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (file.isEmpty()) {
+            throw new IllegalStateException("customer.loader.file is required");
+        }
+        LoadReport report = load(Paths.get(file)).block();
+        log.info("[BULK_LOADER] file={} read={} created={} rejected={} failed={} "
+                        + "elapsed={}ms throughput={}/s",
+                file, report.getRead(), report.getCreated(), report.getRejected(),
+                report.getFailed(), report.getElapsed().toMillis(),
+                String.format("%.1f", report.getThroughput()));
+        report.getRejectedRows().forEach(row -> log.warn("[BULK_LOADER] {}", row));
+        if (report.getRejected() + report.getFailed() > report.getRejectedRows().size()) {
+            log.warn("[BULK_LOADER] only the first {} rejected rows are listed",
+                    MAX_REPORTED_ROWS);
+        }
+        exitCode = report.getRejected() + report.getFailed() > 0 ? 2 : 0;
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    /**
+     * Carga el archivo y devuelve el resumen.
+     *
+     * @param path arreglo JSON o NDJSON de {@link CustomerCreateRequest}
+     */
+    public Mono<LoadReport> load(Path path) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            LoadReport report = new LoadReport();
+            return customerBatchService.importAll(read(path), chunkSize, concurrency)
+                    .doOnNext(report::add)
+                    .then(Mono.fromSupplier(() -> {
+                        report.elapsed = Duration.ofNanos(System.nanoTime() - start);
+                        return report;
+                    }));
+        });
+    }
+
+    private Flux<CustomerBatchItem> read(Path path) {
+        return Flux.<CustomerBatchItem, RowReader>generate(
+                        () -> new RowReader(reader.readValues(path.toFile()), path),
+                        (rows, sink) -> {
+                            CustomerBatchItem item = rows.next();
+                            if (item == null) {
+                                sink.complete();
+                            } else {
+                                sink.next(item);
+                            }
+                            return rows;
+                        },
+                        RowReader::close)
+                // lectura de archivo bloqueante
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private CustomerBatchItem toItem(long index, CustomerCreateRequest request) {
+        try {
+            createValidator.validate(request);
+            return CustomerBatchItem.accepted(index,
+                    customerMapper.getCustomerofCustomerCreateRequest(request));
+        } catch (ValidationException ex) {
+            return CustomerBatchItem.rejected(index, ex.getMessage());
+        }
+    }
+
+    /**
+     * Itera las filas del archivo; una fila ilegible se rechaza y se sigue con la siguiente.
+     */
+    private final class RowReader {
+
+        private final MappingIterator<CustomerCreateRequest> rows;
+
+        private final Path path;
+
+        private long index;
+
+        private RowReader(MappingIterator<CustomerCreateRequest> rows, Path path) {
+            this.rows = rows;
+            this.path = path;
+        }
+
+        private CustomerBatchItem next() {
+            try {
+                if (!rows.hasNextValue()) {
+                    return null;
+                }
+                CustomerCreateRequest request = rows.nextValue();
+                return toItem(index++, request);
+            } catch (JsonMappingException ex) {
+                // el iterador se resincroniza con el siguiente elemento
+                return CustomerBatchItem.rejected(index++, ex.getOriginalMessage());
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot read " + path, ex);
+            }
+        }
+
+        private void close() {
+            try {
+                rows.close();
+            } catch (IOException ex) {
+                log.warn("[BULK_LOADER] cannot close {}: {}", path, ex.toString());
+            }
+        }
+    }
+
+    /**
+     * Resumen de una carga.
+     */
+    @Getter
+    public static class LoadReport {
+
+        private long read;
+
+        private long created;
+
+        private long rejected;
+
+        private long failed;
+
+        private Duration elapsed = Duration.ZERO;
+
+        private final List<String> rejectedRows = new ArrayList<>();
+
+        public double getThroughput() {
+            double seconds = elapsed.toNanos() / 1_000_000_000.0;
+            return seconds == 0 ? 0 : read / seconds;
+        }
+
+        private void add(CustomerBatchItem item) {
+            read++;
+            if (CustomerBatchItem.CREATED.equals(item.getStatus())) {
+                created++;
+                return;
+            }
+            if (CustomerBatchItem.FAILED.equals(item.getStatus())) {
+                failed++;
+            } else {
+                rejected++;
+            }
+            if (rejectedRows.size() < MAX_REPORTED_ROWS) {
+                rejectedRows.add("row " + item.getIndex() + " " + item.getStatus()
+                        + ": " + item.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.customer.business.mapper;
+
+import com.customer.business.exception.ValidationException;
+import com.customer.business.model.CustomerResponse;
+import com.customer.business.model.entity.Customer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Selección de campos de cliente pedida con el parámetro {@code fields}.
+ *
+ * - Solo se aceptan los campos de {@code CustomerResponse}; el resto se rechaza.
+ * - El id se incluye siempre.
+ * - Un conjunto vacío significa "todos los campos".
+ * - Solo las respuestas con selección omiten los campos nulos ({@link #render}).
+ */
+public final class CustomerFields {
+
+    public static final String ID = "id";
+
+    public static final List<String> ALLOWED = Collections.unmodifiableList(Arrays.asList(
+            ID, "customerType", "profile", "firstName", "lastName", "businessName",
+            "dni", "ruc", "address", "phone", "email"));
+
+    private CustomerFields() {
+    }
+
+    /**
+     * Interpreta una lista de campos separados por comas.
+     *
+     * @param fields valor del parámetro; null o vacío para todos los campos
+     * @return campos seleccionados (incluye el id) o vacío para todos
+     * @throws ValidationException si algún campo no existe
+     */
+    public static Set<String> parse(String fields) {
+        if (fields == null || fields.trim().isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add(ID);
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!ALLOWED.contains(name)) {
+                throw new ValidationException("Unknown customer field: " + name);
+            }
+            selected.add(name);
+        }
+        return Collections.unmodifiableSet(selected);
+    }
+
+    /**
+     * Copia del cliente con solo los campos seleccionados.
+     *
+     * @param customer cliente completo
+     * @param fields campos a conservar; vacío para todos
+     */
+    public static Customer retain(Customer customer, Set<String> fields) {
+        if (fields.isEmpty()) {
+            return customer;
+        }
+        Customer sparse = new Customer();
+        sparse.setId(customer.getId());
+        if (fields.contains("customerType")) {
+            sparse.setCustomerType(customer.getCustomerType());
+        }
+        if (fields.contains("profile")) {
+            sparse.setProfile(customer.getProfile());
+        }
+        if (fields.contains("firstName")) {
+            sparse.setFirstName(customer.getFirstName());
+        }
+        if (fields.contains("lastName")) {
+            sparse.setLastName(customer.getLastName());
+        }
+        if (fields.contains("businessName")) {
+            sparse.setBusinessName(customer.getBusinessName());
+        }
+        if (fields.contains("dni")) {
+            sparse.setDni(customer.getDni());
+        }
+        if (fields.contains("ruc")) {
+            sparse.setRuc(customer.getRuc());
+        }
+        if (fields.contains("address")) {
+            sparse.setAddress(customer.getAddress());
+        }
+        if (fields.contains("phone")) {
+            sparse.setPhone(customer.getPhone());
+        }
+        if (fields.contains("email")) {
+            sparse.setEmail(customer.getEmail());
+        }
+        return sparse;
+    }
+
+    /**
+     * Respuesta a serializar: con selección omite los campos nulos, sin ella se
+     * devuelve tal cual (con todos sus campos, también los nulos).
+     *
+     * @param response respuesta del cliente ya recortado con {@link #retain}
+     * @param fields campos seleccionados; vacío para todos
+     */
+    public static CustomerResponse render(CustomerResponse response, Set<String> fields) {
+        if (fields.isEmpty() || response == null) {
+            return response;
+        }
+        return SparseCustomerResponse.of(response);
+    }
+}
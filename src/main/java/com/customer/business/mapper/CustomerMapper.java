@@ -1,16 +1,27 @@
 package com.customer.business.mapper;
 
+import com.customer.business.model.CustomerBatchResult;
 import com.customer.business.model.CustomerCreateRequest;
+import com.customer.business.model.CustomerProductsResult;
 import com.customer.business.model.CustomerResponse;
 import com.customer.business.model.CustomerUpdateRequest;
 import com.customer.business.model.PaymentResponse;
 import com.customer.business.model.ProductReportResponse;
+import com.customer.business.model.ProductResponse;
 import lombok.NoArgsConstructor;
 
 import org.springframework.stereotype.Component;
 
+import com.customer.business.model.dto.CustomerBatchItem;
+import com.customer.business.model.dto.CustomerProducts;
+import com.customer.business.model.dto.ProductDTO;
 import com.customer.business.model.entity.Customer;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * Mapper entre:
  * - DTOs generados por OpenAPI: CustomerRequest, CustomerResponse
@@ -23,6 +34,18 @@ import com.customer.business.model.entity.Customer;
 @NoArgsConstructor
 @Component
 public class CustomerMapper {
+
+    // Tablas precalculadas valor -> enum: fromValue recorre values() (y copia el arreglo)
+    // en cada llamada, y el listado de productos la invoca tres veces por elemento
+    private static final Map<String, ProductResponse.CategoryEnum> PRODUCT_CATEGORIES =
+            lookupOf(ProductResponse.CategoryEnum.values(), ProductResponse.CategoryEnum::getValue);
+
+    private static final Map<String, ProductResponse.TypeEnum> PRODUCT_TYPES =
+            lookupOf(ProductResponse.TypeEnum.values(), ProductResponse.TypeEnum::getValue);
+
+    private static final Map<String, ProductResponse.SubTypeEnum> PRODUCT_SUB_TYPES =
+            lookupOf(ProductResponse.SubTypeEnum.values(), ProductResponse.SubTypeEnum::getValue);
+
     /**
      * Convierte un objeto {@link CustomerCreateRequest} (DTO recibido en la API)
      * en un objeto {@link Customer} (entidad de base de datos).
@@ -30,6 +53,7 @@ public class CustomerMapper {
      * - El campo "customerType" del request (enum) se transforma a String.
      * - Los campos nulos son tratados para evitar NullPointerExceptions.
      * - Se inicializa la lista de productIds si no viene en el request.
+     * - Un DNI o RUC en blanco se guarda como null: no ocupa el índice único.
      *
      * @param request DTO recibido en la API
      * @return entidad Customer lista para ser persistida
@@ -56,8 +80,8 @@ public class CustomerMapper {
         customer.setFirstName(request.getFirstName());
         customer.setLastName(request.getLastName());
         customer.setBusinessName(request.getBusinessName());
-        customer.setDni(request.getDni());
-        customer.setRuc(request.getRuc());
+        customer.setDni(blankToNull(request.getDni()));
+        customer.setRuc(blankToNull(request.getRuc()));
         customer.setAddress(request.getAddress());
         customer.setPhone(request.getPhone());
         customer.setEmail(request.getEmail());
@@ -65,6 +89,10 @@ public class CustomerMapper {
         return customer;
     }
 
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value;
+    }
+
     /**
      * Convierte un objeto {@link Customer} (entidad de base de datos)
      * en un objeto {@link CustomerResponse} (DTO para respuesta en la API).
@@ -115,6 +143,79 @@ public class CustomerMapper {
         return response;
     }
 
+    /**
+     * Convierte el resultado de un elemento de una creación en lote en el DTO de la API.
+     *
+     * @param item elemento procesado
+     * @return resultado con el id del cliente si se creó
+     */
+    public CustomerBatchResult getCustomerBatchResultOfItem(CustomerBatchItem item) {
+        CustomerBatchResult result = new CustomerBatchResult();
+        result.setIndex(item.getIndex());
+        result.setStatus(CustomerBatchResult.StatusEnum.fromValue(item.getStatus()));
+        if (CustomerBatchItem.CREATED.equals(item.getStatus())) {
+            result.setId(item.getCustomer().getId());
+        }
+        result.setMessage(item.getMessage());
+        return result;
+    }
+
+    /**
+     * Convierte un producto del servicio de productos en el DTO de la API.
+     *
+     * - category, type y subType se resuelven con tablas precalculadas.
+     * - Un valor ausente se deja como null; uno desconocido lanza
+     *   {@link IllegalArgumentException}, igual que {@code fromValue}.
+     *
+     * @param product producto recibido del servicio de productos
+     * @return DTO ProductResponse para enviar en la respuesta de la API
+     */
+    public ProductResponse getProductResponseOfProduct(ProductDTO product) {
+        ProductResponse response = new ProductResponse();
+        response.setId(product.getId());
+        response.setCustomerId(product.getCustomerId());
+        response.setCategory(lookup(PRODUCT_CATEGORIES, product.getCategory()));
+        response.setType(lookup(PRODUCT_TYPES, product.getType()));
+        response.setSubType(lookup(PRODUCT_SUB_TYPES, product.getSubType()));
+        return response;
+    }
+
+    /**
+     * Convierte los productos de un cliente de una consulta en lote en el DTO de la API.
+     *
+     * @param customerProducts resultado de un cliente
+     * @return resultado con sus productos ya convertidos
+     */
+    public CustomerProductsResult getCustomerProductsResultOfCustomerProducts(
+            CustomerProducts customerProducts) {
+        CustomerProductsResult result = new CustomerProductsResult();
+        result.setCustomerId(customerProducts.getCustomerId());
+        result.setStatus(CustomerProductsResult.StatusEnum.fromValue(
+                customerProducts.getStatus()));
+        result.setProducts(customerProducts.getProducts().stream()
+                .map(this::getProductResponseOfProduct)
+                .collect(Collectors.toList()));
+        result.setMessage(customerProducts.getMessage());
+        return result;
+    }
+
+    private static <E extends Enum<E>> Map<String, E> lookupOf(E[] values,
+                                                              Function<E, String> valueOf) {
+        return Arrays.stream(values)
+                .collect(Collectors.toUnmodifiableMap(valueOf, Function.identity()));
+    }
+
+    private static <E> E lookup(Map<String, E> values, String value) {
+        if (value == null) {
+            return null;
+        }
+        E resolved = values.get(value);
+        if (resolved == null) {
+            throw new IllegalArgumentException("Unexpected value '" + value + "'");
+        }
+        return resolved;
+    }
+
     /**
      * Convierte un objeto {@link CustomerUpdateRequest} (DTO para actualización)
      * en un objeto {@link Customer} (entidad de base de datos) preservando los valores existentes.
@@ -0,0 +1,33 @@
+package com.customer.business.mapper;
+
+import com.customer.business.model.CustomerResponse;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * {@link CustomerResponse} que omite los campos nulos al serializarse.
+ *
+ * Solo se usa para las respuestas con {@code fields}, de modo que contengan
+ * únicamente los campos pedidos; el resto de respuestas no cambia.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SparseCustomerResponse extends CustomerResponse {
+
+    /**
+     * Copia de la respuesta completa; los campos no seleccionados ya vienen a null.
+     */
+    public static SparseCustomerResponse of(CustomerResponse response) {
+        SparseCustomerResponse sparse = new SparseCustomerResponse();
+        sparse.setId(response.getId());
+        sparse.setCustomerType(response.getCustomerType());
+        sparse.setProfile(response.getProfile());
+        sparse.setFirstName(response.getFirstName());
+        sparse.setLastName(response.getLastName());
+        sparse.setBusinessName(response.getBusinessName());
+        sparse.setDni(response.getDni());
+        sparse.setRuc(response.getRuc());
+        sparse.setAddress(response.getAddress());
+        sparse.setPhone(response.getPhone());
+        sparse.setEmail(response.getEmail());
+        return sparse;
+    }
+}
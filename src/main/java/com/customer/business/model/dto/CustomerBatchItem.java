@@ -0,0 +1,56 @@
+package com.customer.business.model.dto;
+
+import com.customer.business.model.entity.Customer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Elemento de una creación en lote y su resultado.
+ *
+ * - ACCEPTED: validado, pendiente de insertar.
+ * - CREATED / REJECTED / FAILED: resultado final.
+ */
+@Getter
+@AllArgsConstructor
+public class CustomerBatchItem {
+
+    public static final String ACCEPTED = "ACCEPTED";
+
+    public static final String CREATED = "CREATED";
+
+    public static final String REJECTED = "REJECTED";
+
+    public static final String FAILED = "FAILED";
+
+    private final long index;
+
+    private final String status;
+
+    private final Customer customer;
+
+    private final String message;
+
+    public static CustomerBatchItem accepted(long index, Customer customer) {
+        return new CustomerBatchItem(index, ACCEPTED, customer, null);
+    }
+
+    public static CustomerBatchItem rejected(long index, String message) {
+        return new CustomerBatchItem(index, REJECTED, null, message);
+    }
+
+    public CustomerBatchItem created() {
+        return new CustomerBatchItem(index, CREATED, customer, null);
+    }
+
+    public CustomerBatchItem rejected(String reason) {
+        return new CustomerBatchItem(index, REJECTED, customer, reason);
+    }
+
+    public CustomerBatchItem failed(String reason) {
+        return new CustomerBatchItem(index, FAILED, customer, reason);
+    }
+
+    public boolean isAccepted() {
+        return ACCEPTED.equals(status);
+    }
+}
@@ -0,0 +1,46 @@
+package com.customer.business.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Productos de un cliente dentro de una consulta en lote.
+ *
+ * - FOUND: el cliente existe; {@code products} trae sus productos.
+ * - NOT_FOUND: el cliente no existe.
+ * - FAILED: no se pudieron leer sus productos; {@code message} trae el motivo.
+ */
+@Getter
+@AllArgsConstructor
+public class CustomerProducts {
+
+    public static final String FOUND = "FOUND";
+
+    public static final String NOT_FOUND = "NOT_FOUND";
+
+    public static final String FAILED = "FAILED";
+
+    private final String customerId;
+
+    private final String status;
+
+    private final List<ProductDTO> products;
+
+    private final String message;
+
+    public static CustomerProducts found(String customerId, List<ProductDTO> products) {
+        return new CustomerProducts(customerId, FOUND, products, null);
+    }
+
+    public static CustomerProducts notFound(String customerId) {
+        return new CustomerProducts(customerId, NOT_FOUND, Collections.emptyList(),
+                "Customer not found");
+    }
+
+    public static CustomerProducts failed(String customerId, String reason) {
+        return new CustomerProducts(customerId, FAILED, Collections.emptyList(), reason);
+    }
+}
@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Getter
@@ -34,4 +35,7 @@ public class Customer {
     private String phone;
 
     private String email;
+
+    @Version
+    private Long version; // se incrementa en cada escritura; null en documentos anteriores
 }
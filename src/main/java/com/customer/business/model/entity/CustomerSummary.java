@@ -0,0 +1,53 @@
+package com.customer.business.model.entity;
+
+import com.customer.business.model.dto.ProductDTO;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vista materializada de un cliente y sus productos ("customer_summaries").
+ *
+ * Se mantiene con los eventos de "customer-events" y "product-events". Los productos
+ * se guardan por id, de modo que reaplicar un evento no cambia el resultado.
+ * {@code productsSynced} indica si la lista de productos está completa: es falso
+ * cuando la vista nació de un evento de producto o tras un cambio hecho desde este
+ * servicio, y vuelve a verdadero al sincronizarla con el servicio de productos.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Document(collection = "customer_summaries")
+public class CustomerSummary {
+
+    @Id
+    private String id; // id del cliente
+
+    private String customerType;
+
+    private String profile;
+
+    private Map<String, ProductDTO> products = new HashMap<>();
+
+    // fecha del último evento aplicado a cada producto, también de los borrados
+    private Map<String, LocalDateTime> productVersions = new HashMap<>();
+
+    private boolean productsSynced;
+
+    private Instant productsSyncedAt;
+
+    private Instant updatedAt;
+
+    public List<ProductDTO> productList() {
+        return products == null ? new ArrayList<>() : new ArrayList<>(products.values());
+    }
+}
@@ -0,0 +1,38 @@
+package com.customer.business.model.entity;
+
+import com.customer.business.event.dto.CustomerEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Evento pendiente de publicar en Kafka (patrón outbox).
+ *
+ * Se escribe junto con el cambio del cliente y lo elimina el relay cuando Kafka
+ * confirma el envío. El orden de publicación es (createdAt, id).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "customer_outbox")
+public class OutboxEvent {
+
+    @Id
+    private String id;
+
+    private String key; // clave del mensaje: id del cliente
+
+    private CustomerEvent event;
+
+    private Instant createdAt;
+
+    public static OutboxEvent of(CustomerEvent event) {
+        return new OutboxEvent(null, event.getCustomer().getId(), event, Instant.now());
+    }
+}
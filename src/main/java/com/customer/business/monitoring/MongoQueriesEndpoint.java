@@ -0,0 +1,26 @@
+package com.customer.business.monitoring;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoint de actuator /actuator/mongoqueries: consultas a MongoDB por forma, con su
+ * latencia, consultas lentas y plan (ver {@link MongoQueryMonitor}).
+ */
+@AllArgsConstructor
+@Component
+@Endpoint(id = "mongoqueries")
+public class MongoQueriesEndpoint {
+
+    private final MongoQueryMonitor mongoQueryMonitor;
+
+    @ReadOperation
+    public List<Map<String, Object>> queries() {
+        return mongoQueryMonitor.snapshot();
+    }
+}
@@ -0,0 +1,189 @@
+package com.customer.business.monitoring;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Listener de comandos del cliente MongoDB que mide las consultas por forma
+ * ({@link QueryShapes}).
+ *
+ * - Latencia por forma en el timer customer.mongo.queries (p50, p95 y p99).
+ * - Las consultas que superan {@code slow-threshold} se cuentan y se registran en
+ *   el log con su forma (sin valores).
+ * - La primera vez que aparece una forma, y después por muestreo y como mucho una vez
+ *   por {@code explain-interval}, se lanza un {@code explain} (queryPlanner, no
+ *   ejecuta la consulta) para conocer el plan y avisar de los COLLSCAN.
+ * - El {@code explain} siempre es un {@code find} con el filtro y el orden de la forma,
+ *   también para count, update, delete y aggregate (filtro del primer $match): muestra
+ *   el índice que elegiría ese filtro, no el plan exacto de esos comandos.
+ *
+ * Los callbacks corren en los hilos del driver: solo calculan la forma y actualizan
+ * contadores; el {@code explain} se lanza sin bloquear. Las estadísticas se consultan
+ * en /actuator/mongoqueries ({@link MongoQueriesEndpoint}).
+ */
+@Slf4j
+@Component
+public class MongoQueryMonitor implements CommandListener {
+
+    private final MeterRegistry meterRegistry;
+
+    // perezoso: la plantilla depende del cliente en el que se registra este listener
+    private final ObjectProvider<ReactiveMongoTemplate> mongoTemplate;
+
+    private final long slowThresholdNanos;
+
+    private final double explainSampleRate;
+
+    private final long explainIntervalMillis;
+
+    private final int maxShapes;
+
+    private final Map<String, QueryShapeStats> shapes = new ConcurrentHashMap<>();
+
+    private final Map<Integer, QueryShapeStats> inFlight = new ConcurrentHashMap<>();
+
+    public MongoQueryMonitor(
+            MeterRegistry meterRegistry,
+            ObjectProvider<ReactiveMongoTemplate> mongoTemplate,
+            @Value("${customer.mongo.monitor.slow-threshold:100ms}") Duration slowThreshold,
+            @Value("${customer.mongo.monitor.explain-sample-rate:0.01}")
+            double explainSampleRate,
+            @Value("${customer.mongo.monitor.explain-interval:10m}") Duration explainInterval,
+            @Value("${customer.mongo.monitor.max-shapes:500}") int maxShapes) {
+        this.meterRegistry = meterRegistry;
+        this.mongoTemplate = mongoTemplate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.explainSampleRate = explainSampleRate;
+        this.explainIntervalMillis = explainInterval.toMillis();
+        this.maxShapes = maxShapes;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String commandName = event.getCommandName();
+        if (!QueryShapes.isQuery(commandName)) {
+            return;
+        }
+        BsonDocument command = event.getCommand();
+        BsonValue collection = command.get(commandName);
+        if (collection == null || !collection.isString()) {
+            return;
+        }
+        BsonDocument filter = QueryShapes.filterOf(commandName, command);
+        BsonDocument sort = QueryShapes.sortOf(command);
+        QueryShapeStats stats = statsFor(commandName, collection.asString().getValue(),
+                QueryShapes.shape(commandName, collection.asString().getValue(), filter, sort));
+        if (stats == null) {
+            return;
+        }
+        inFlight.put(event.getRequestId(), stats);
+        if (shouldExplain(stats)) {
+            // el documento del comando solo es válido durante el callback
+            explain(stats, filter.clone(), sort.clone());
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        QueryShapeStats stats = inFlight.remove(event.getRequestId());
+        if (stats == null) {
+            return;
+        }
+        long nanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        boolean slow = nanos >= slowThresholdNanos;
+        stats.record(nanos, slow);
+        if (slow) {
+            log.warn("[MONGO_QUERIES] slow query {}ms plan={} shape={}",
+                    TimeUnit.NANOSECONDS.toMillis(nanos), stats.getPlan(), stats.getShape());
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        QueryShapeStats stats = inFlight.remove(event.getRequestId());
+        if (stats != null) {
+            stats.record(event.getElapsedTime(TimeUnit.NANOSECONDS), false);
+            stats.failed();
+        }
+    }
+
+    /**
+     * Estadísticas por forma, de mayor a menor tiempo total.
+     */
+    public List<Map<String, Object>> snapshot() {
+        return shapes.values().stream()
+                .sorted(Comparator.comparingDouble(
+                        (QueryShapeStats stats) -> stats.getTimer().totalTime(TimeUnit.NANOSECONDS))
+                        .reversed())
+                .map(QueryShapeStats::toMap)
+                .collect(Collectors.toList());
+    }
+
+    private QueryShapeStats statsFor(String command, String collection, String shape) {
+        QueryShapeStats stats = shapes.get(shape);
+        if (stats != null) {
+            return stats;
+        }
+        if (shapes.size() >= maxShapes) {
+            // formas generadas dinámicamente: no se registran más allá del límite
+            return null;
+        }
+        return shapes.computeIfAbsent(shape,
+                key -> new QueryShapeStats(meterRegistry, command, collection, key));
+    }
+
+    private boolean shouldExplain(QueryShapeStats stats) {
+        long now = System.currentTimeMillis();
+        if (!stats.isExplained()) {
+            return stats.claimExplain(now, 0L);
+        }
+        return ThreadLocalRandom.current().nextDouble() < explainSampleRate
+                && stats.claimExplain(now, now - explainIntervalMillis);
+    }
+
+    private void explain(QueryShapeStats stats, BsonDocument filter, BsonDocument sort) {
+        ReactiveMongoTemplate template = mongoTemplate.getIfAvailable();
+        if (template == null) {
+            return;
+        }
+        BsonDocument find = new BsonDocument("find", new BsonString(stats.getCollection()))
+                .append("filter", filter);
+        if (!sort.isEmpty()) {
+            find.append("sort", sort);
+        }
+        BsonDocument explain = new BsonDocument("explain", find)
+                .append("verbosity", new BsonString("queryPlanner"));
+        template.executeCommand(explain.toJson())
+                .map(QueryShapes::winningPlan)
+                .subscribe(
+                        plan -> {
+                            stats.setPlan(plan);
+                            if (stats.isCollectionScan()) {
+                                log.warn("[MONGO_QUERIES] collection scan plan={} shape={}",
+                                        plan, stats.getShape());
+                            }
+                        },
+                        error -> log.debug("[MONGO_QUERIES] explain failed shape={}: {}",
+                                stats.getShape(), error.toString()));
+    }
+}
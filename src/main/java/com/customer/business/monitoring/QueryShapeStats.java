@@ -0,0 +1,108 @@
+package com.customer.business.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estadísticas de una forma de consulta: latencia (timer de Micrometer), errores,
+ * consultas lentas y último plan observado con {@code explain}.
+ *
+ * Los percentiles se calculan en el proceso y se publican como tres series por forma;
+ * no se publica el histograma, que con la etiqueta {@code shape} multiplicaría las
+ * series por cada bucket.
+ */
+@Getter
+class QueryShapeStats {
+
+    static final String METRIC = "customer.mongo.queries";
+
+    private final String shape;
+
+    private final String collection;
+
+    private final String command;
+
+    private final Timer timer;
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder slow = new LongAdder();
+
+    private final AtomicLong explainedAt = new AtomicLong();
+
+    private volatile String plan = QueryShapes.UNKNOWN_PLAN;
+
+    QueryShapeStats(MeterRegistry meterRegistry, String command, String collection,
+                    String shape) {
+        this.shape = shape;
+        this.collection = collection;
+        this.command = command;
+        this.timer = Timer.builder(METRIC)
+                .description("Latencia de las consultas a MongoDB por forma")
+                .tag("command", command)
+                .tag("collection", collection)
+                .tag("shape", shape)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    void record(long nanos, boolean isSlow) {
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+        if (isSlow) {
+            slow.increment();
+        }
+    }
+
+    void failed() {
+        errors.increment();
+    }
+
+    /**
+     * Reserva el próximo {@code explain} de esta forma si el último fue antes de
+     * {@code notBefore}; solo un hilo lo consigue.
+     */
+    boolean claimExplain(long now, long notBefore) {
+        long last = explainedAt.get();
+        return (last == 0 || last <= notBefore) && explainedAt.compareAndSet(last, now);
+    }
+
+    boolean isExplained() {
+        return explainedAt.get() != 0;
+    }
+
+    void setPlan(String plan) {
+        this.plan = plan;
+    }
+
+    boolean isCollectionScan() {
+        return plan.contains("COLLSCAN");
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("shape", shape);
+        view.put("command", command);
+        view.put("collection", collection);
+        view.put("count", timer.count());
+        view.put("errors", errors.sum());
+        view.put("slow", slow.sum());
+        view.put("totalMs", timer.totalTime(TimeUnit.MILLISECONDS));
+        view.put("meanMs", timer.mean(TimeUnit.MILLISECONDS));
+        view.put("maxMs", timer.max(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            view.put("p" + Math.round(percentile.percentile() * 100) + "Ms",
+                    percentile.value(TimeUnit.MILLISECONDS));
+        }
+        view.put("plan", plan);
+        view.put("collectionScan", isCollectionScan());
+        return view;
+    }
+}
@@ -0,0 +1,151 @@
+package com.customer.business.monitoring;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Forma de una consulta a MongoDB: el comando, la colección, los campos y operadores
+ * del filtro y el orden, sin los valores.
+ *
+ * Dos consultas con la misma forma usan el mismo plan, así que las métricas se
+ * agrupan por forma (p. ej. {@code find customers {dni: ?}}) y su cardinalidad la
+ * acota el código, no los datos.
+ */
+final class QueryShapes {
+
+    static final String UNKNOWN_PLAN = "UNKNOWN";
+
+    private static final Set<String> QUERY_COMMANDS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("find", "count", "distinct", "aggregate",
+                    "findAndModify", "delete", "update")));
+
+    private static final String PLACEHOLDER = "?";
+
+    private QueryShapes() {
+    }
+
+    static boolean isQuery(String commandName) {
+        return QUERY_COMMANDS.contains(commandName);
+    }
+
+    /**
+     * Filtro del comando: el que usa MongoDB para elegir el plan.
+     */
+    static BsonDocument filterOf(String commandName, BsonDocument command) {
+        switch (commandName) {
+            case "find":
+                return document(command, "filter");
+            case "count":
+            case "distinct":
+            case "findAndModify":
+                return document(command, "query");
+            case "delete":
+                return firstStatement(command, "deletes");
+            case "update":
+                return firstStatement(command, "updates");
+            case "aggregate":
+                return firstMatch(command);
+            default:
+                return new BsonDocument();
+        }
+    }
+
+    static BsonDocument sortOf(BsonDocument command) {
+        return document(command, "sort");
+    }
+
+    /**
+     * @return p. ej. {@code find customers {dni: ?} sort [_id]}
+     */
+    static String shape(String commandName, String collection,
+                        BsonDocument filter, BsonDocument sort) {
+        String shape = commandName + " " + collection + " " + shape(filter);
+        return sort.isEmpty() ? shape : shape + " sort " + sort.keySet();
+    }
+
+    static String shape(BsonValue value) {
+        if (value.isDocument()) {
+            StringJoiner joiner = new StringJoiner(", ", "{", "}");
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                joiner.add(entry.getKey() + ": " + shape(entry.getValue()));
+            }
+            return joiner.toString();
+        }
+        if (value.isArray()) {
+            // $and/$or/$nor: forma de cada cláusula; listas de valores ($in): un marcador
+            BsonArray array = value.asArray();
+            if (!array.isEmpty() && array.get(0).isDocument()) {
+                StringJoiner joiner = new StringJoiner(", ", "[", "]");
+                array.forEach(clause -> joiner.add(shape(clause)));
+                return joiner.toString();
+            }
+            return "[" + PLACEHOLDER + "]";
+        }
+        return PLACEHOLDER;
+    }
+
+    /**
+     * Etapas del plan ganador de un {@code explain}, de la raíz a las hojas
+     * (p. ej. {@code FETCH > IXSCAN}).
+     */
+    static String winningPlan(Document explain) {
+        Object planner = explain.get("queryPlanner");
+        if (!(planner instanceof Document)) {
+            return UNKNOWN_PLAN;
+        }
+        List<String> stages = new ArrayList<>();
+        collectStages(((Document) planner).get("winningPlan"), stages);
+        return stages.isEmpty() ? UNKNOWN_PLAN : String.join(" > ", stages);
+    }
+
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document) {
+            Document document = (Document) node;
+            Object stage = document.get("stage");
+            if (stage instanceof String) {
+                stages.add((String) stage);
+            }
+            document.values().forEach(child -> collectStages(child, stages));
+        } else if (node instanceof List) {
+            ((List<?>) node).forEach(child -> collectStages(child, stages));
+        }
+    }
+
+    private static BsonDocument document(BsonDocument command, String field) {
+        BsonValue value = command.get(field);
+        return value != null && value.isDocument() ? value.asDocument() : new BsonDocument();
+    }
+
+    private static BsonDocument firstStatement(BsonDocument command, String field) {
+        BsonValue statements = command.get(field);
+        if (statements == null || !statements.isArray() || statements.asArray().isEmpty()) {
+            return new BsonDocument();
+        }
+        BsonValue first = statements.asArray().get(0);
+        return first.isDocument() ? document(first.asDocument(), "q") : new BsonDocument();
+    }
+
+    private static BsonDocument firstMatch(BsonDocument command) {
+        BsonValue pipeline = command.get("pipeline");
+        if (pipeline == null || !pipeline.isArray()) {
+            return new BsonDocument();
+        }
+        for (BsonValue stage : pipeline.asArray()) {
+            if (stage.isDocument() && stage.asDocument().containsKey("$match")) {
+                return document(stage.asDocument(), "$match");
+            }
+        }
+        return new BsonDocument();
+    }
+}
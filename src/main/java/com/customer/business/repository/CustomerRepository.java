@@ -2,9 +2,7 @@ package com.customer.business.repository;
 
 import com.customer.business.model.entity.Customer;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
-import reactor.core.publisher.Mono;
 
-public interface CustomerRepository extends ReactiveMongoRepository<Customer, String> {
-
-    Mono<Boolean> existsByDni(String dni);
-}
\ No newline at end of file
+public interface CustomerRepository extends ReactiveMongoRepository<Customer, String>,
+        CustomerRepositoryCustom {
+}
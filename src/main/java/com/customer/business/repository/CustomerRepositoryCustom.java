@@ -0,0 +1,73 @@
+package com.customer.business.repository;
+
+import com.customer.business.model.entity.Customer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consultas de {@link CustomerRepository} con paginación por cursor y proyección
+ * de campos, implementadas sobre {@code ReactiveMongoTemplate}.
+ */
+public interface CustomerRepositoryCustom {
+
+    /**
+     * Página de clientes con id mayor que el cursor, ordenada por id.
+     *
+     * @param afterId cursor; null o vacío para la primera página
+     * @param limit tamaño máximo de la página
+     * @param fields campos a leer; vacío para el documento completo
+     */
+    Flux<Customer> findPage(String afterId, int limit, Collection<String> fields);
+
+    /**
+     * Todos los clientes con id mayor que el cursor, ordenados por id, en streaming.
+     *
+     * @param afterId cursor; null o vacío para empezar desde el inicio
+     * @param fields campos a leer; vacío para el documento completo
+     */
+    Flux<Customer> stream(String afterId, Collection<String> fields);
+
+    /**
+     * DNIs de la lista que ya están registrados, en una sola consulta {@code $in}.
+     */
+    Flux<String> findExistingDnis(Collection<String> dnis);
+
+    /**
+     * Ids de la lista que corresponden a clientes existentes, en una sola consulta
+     * {@code $in} que solo lee el {@code _id}.
+     */
+    Flux<String> findExistingIds(Collection<String> ids);
+
+    /**
+     * Inserta los clientes con un único {@code insertMany} no ordenado: un fallo en un
+     * documento no impide insertar el resto.
+     *
+     * @param customers clientes con id ya asignado
+     * @return errores por posición en la lista; vacío si se insertaron todos
+     */
+    Mono<Map<Integer, String>> insertUnordered(List<Customer> customers);
+
+    /**
+     * Actualiza campos del cliente con un único {@code findAndModify}: {@code $set} de
+     * los valores, {@code $unset} de los nulos y {@code $inc} de la versión.
+     *
+     * @param customerId identificador del cliente
+     * @param expectedVersion versión que debe tener el documento; null para no comprobarla
+     * @param fields campos a escribir
+     * @return el documento anterior a la actualización; vacío si no existe o su
+     *         versión no coincide
+     */
+    Mono<Customer> updateFields(String customerId, Long expectedVersion,
+                                Map<String, Object> fields);
+
+    /**
+     * Elimina el cliente con un único {@code findAndRemove}.
+     *
+     * @return el documento eliminado; vacío si no existía
+     */
+    Mono<Customer> findAndDeleteById(String customerId);
+}
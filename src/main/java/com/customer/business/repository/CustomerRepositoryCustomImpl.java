@@ -0,0 +1,134 @@
+package com.customer.business.repository;
+
+import com.customer.business.exception.ValidationException;
+import com.customer.business.model.entity.Customer;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación de {@link CustomerRepositoryCustom}.
+ *
+ * - Paginación por rango sobre el índice de _id (sin skip). Un cursor que no es un
+ *   ObjectId se rechaza: compararía un texto con los _id y repetiría la primera página.
+ * - Si se piden campos concretos, MongoDB solo devuelve esos campos (y el _id).
+ * - Las altas masivas van directas a la colección con {@code insertMany} no ordenado.
+ * - Las actualizaciones son un {@code findAndModify} condicionado a la versión y las
+ *   bajas un {@code findAndRemove}: una sola ida y vuelta que devuelve el documento.
+ */
+@AllArgsConstructor
+public class CustomerRepositoryCustomImpl implements CustomerRepositoryCustom {
+
+    private static final Sort BY_ID = Sort.by(Sort.Direction.ASC, "id");
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Flux<Customer> findPage(String afterId, int limit, Collection<String> fields) {
+        return Flux.defer(() -> mongoTemplate.find(afterQuery(afterId, fields).limit(limit),
+                Customer.class));
+    }
+
+    @Override
+    public Flux<Customer> stream(String afterId, Collection<String> fields) {
+        return Flux.defer(() -> mongoTemplate.find(afterQuery(afterId, fields),
+                Customer.class));
+    }
+
+    @Override
+    public Flux<String> findExistingDnis(Collection<String> dnis) {
+        if (dnis.isEmpty()) {
+            return Flux.empty();
+        }
+        Query query = Query.query(Criteria.where("dni").in(dnis));
+        query.fields().include("dni");
+        return mongoTemplate.find(query, Customer.class).map(Customer::getDni);
+    }
+
+    @Override
+    public Flux<String> findExistingIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        Query query = Query.query(Criteria.where("id").in(ids));
+        query.fields().include("id");
+        return mongoTemplate.find(query, Customer.class).map(Customer::getId);
+    }
+
+    @Override
+    public Mono<Map<Integer, String>> insertUnordered(List<Customer> customers) {
+        if (customers.isEmpty()) {
+            return Mono.just(Collections.emptyMap());
+        }
+        List<Document> documents = new ArrayList<>(customers.size());
+        for (Customer customer : customers) {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(customer, document);
+            documents.add(document);
+        }
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Customer.class))
+                .flatMap(collection -> Mono.from(collection.insertMany(documents,
+                        new InsertManyOptions().ordered(false))))
+                .map(result -> Collections.<Integer, String>emptyMap())
+                .onErrorResume(MongoBulkWriteException.class, ex -> Mono.just(
+                        ex.getWriteErrors().stream().collect(Collectors.toMap(
+                                BulkWriteError::getIndex, BulkWriteError::getMessage))));
+    }
+
+    @Override
+    public Mono<Customer> updateFields(String customerId, Long expectedVersion,
+                                       Map<String, Object> fields) {
+        Criteria criteria = Criteria.where("id").is(customerId);
+        if (expectedVersion != null) {
+            criteria = criteria.and("version").is(expectedVersion);
+        }
+        Update update = new Update();
+        fields.forEach((field, value) -> {
+            if (value == null) {
+                update.unset(field);
+            } else {
+                update.set(field, value);
+            }
+        });
+        update.inc("version", 1L);
+        return mongoTemplate.findAndModify(Query.query(criteria), update,
+                FindAndModifyOptions.options().returnNew(false), Customer.class);
+    }
+
+    @Override
+    public Mono<Customer> findAndDeleteById(String customerId) {
+        return mongoTemplate.findAndRemove(
+                Query.query(Criteria.where("id").is(customerId)), Customer.class);
+    }
+
+    private static Query afterQuery(String afterId, Collection<String> fields) {
+        boolean first = afterId == null || afterId.isEmpty();
+        if (!first && !ObjectId.isValid(afterId)) {
+            throw new ValidationException("Invalid cursor: " + afterId);
+        }
+        Query query = first
+                ? new Query()
+                : Query.query(Criteria.where("id").gt(new ObjectId(afterId)));
+        query.with(BY_ID);
+        fields.forEach(field -> query.fields().include(field));
+        return query;
+    }
+}
@@ -0,0 +1,14 @@
+package com.customer.business.repository;
+
+import com.customer.business.model.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+public interface OutboxEventRepository extends ReactiveMongoRepository<OutboxEvent, String> {
+
+    /**
+     * Eventos pendientes, en el orden indicado por {@code pageable}.
+     */
+    Flux<OutboxEvent> findAllBy(Pageable pageable);
+}
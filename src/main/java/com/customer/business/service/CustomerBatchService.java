@@ -0,0 +1,38 @@
+package com.customer.business.service;
+
+import com.customer.business.model.dto.CustomerBatchItem;
+import reactor.core.publisher.Flux;
+
+/**
+ * Altas masivas de clientes.
+ */
+public interface CustomerBatchService {
+
+    /**
+     * Crea los clientes aceptados por bloques.
+     *
+     * - Los elementos ya rechazados (p. ej. por validación) se devuelven tal cual.
+     * - Los DNI de cada bloque se comprueban en una sola consulta.
+     * - Cada bloque se inserta con una escritura masiva no ordenada.
+     *
+     * @param items elementos en orden de entrada
+     * @return un resultado por elemento, en el mismo orden
+     */
+    Flux<CustomerBatchItem> createAll(Flux<CustomerBatchItem> items);
+
+    /**
+     * Carga masiva para sembrar entornos: como {@link #createAll} pero sin escribir
+     * en la cache ni publicar eventos, y con varios bloques insertándose en paralelo.
+     *
+     * - Los DNI repetidos entre bloques concurrentes no se detectan aquí.
+     * - Los nodos en marcha no se enteran de las altas (sin eventos): sus filtros de
+     *   ids las ven al reiniciar y, hasta entonces, las leen de MongoDB.
+     *
+     * @param items elementos en orden de entrada
+     * @param chunkSize elementos por escritura masiva
+     * @param concurrency bloques insertándose a la vez
+     * @return un resultado por elemento, sin orden garantizado entre bloques
+     */
+    Flux<CustomerBatchItem> importAll(Flux<CustomerBatchItem> items, int chunkSize,
+                                      int concurrency);
+}
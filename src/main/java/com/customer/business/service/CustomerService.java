@@ -4,19 +4,44 @@ package com.customer.business.service;
 //import com.customer.business.model.PaymentRequest;
 //import com.customer.business.model.PaymentResponse;
 //import com.customer.business.model.ProductReportResponse;
+import com.customer.business.exception.ResourceNotFoundException;
+import com.customer.business.exception.ValidationException;
+import com.customer.business.exception.VersionConflictException;
+import com.customer.business.model.dto.CustomerProducts;
+import com.customer.business.model.dto.ProductDTO;
 import com.customer.business.model.entity.Customer;
 import com.customer.business.model.entity.Product;
 import com.customer.business.repository.CustomerRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.Set;
+
 /**
  * Servicio que encapsula la lógica de negocio relacionada con los clientes.
  * Se comunica con el repositorio {@link CustomerRepository} para persistencia en MongoDB.
  */
 public interface CustomerService {
 
-    public Flux<Customer> findAll();
+    /**
+     * Obtiene una página de clientes ordenada por id (paginación por cursor).
+     *
+     * @param afterId id del último cliente de la página anterior; null para la primera
+     * @param limit tamaño máximo de la página
+     * @param fields campos a leer de MongoDB; vacío para el documento completo
+     * @return clientes con id mayor que {@code afterId}, como máximo {@code limit}
+     */
+    public Flux<Customer> findPage(String afterId, int limit, Set<String> fields);
+
+    /**
+     * Transmite todos los clientes con id mayor que el cursor, ordenados por id.
+     *
+     * @param afterId id desde el que continuar; null para empezar desde el inicio
+     * @param fields campos a leer de MongoDB; vacío para el documento completo
+     * @return flujo de clientes, consumido bajo demanda
+     */
+    public Flux<Customer> stream(String afterId, Set<String> fields);
 
     /**
      * Busca un cliente por su identificador.
@@ -38,12 +63,13 @@ public interface CustomerService {
      * Actualiza un cliente existente.
      *
      * - Si el cliente no existe, lanza una excepción.
-     * - El ID del cliente se fuerza para coincidir con el recibido en el parámetro.
+     * - Si {@code customer} trae versión, solo se actualiza si coincide con la actual.
      *
      * @param customerId identificador del cliente
-     * @param customer datos a actualizar
-     * @return cliente actualizado
-     * @throws IllegalArgumentException si el cliente no existe
+     * @param customer datos a actualizar y, opcionalmente, la versión esperada
+     * @return cliente actualizado, con su nueva versión
+     * @throws ResourceNotFoundException si el cliente no existe
+     * @throws VersionConflictException si la versión no coincide
      */
     public Mono<Customer> update(String customerId, Customer customer);
 
@@ -76,12 +102,27 @@ public interface CustomerService {
     public Mono<Void> removeProduct(String customerId, String productId);
 
     /**
-     * Obtiene la lista de IDs de productos asociados a un cliente.
+     * Obtiene los productos asociados a un cliente, tal como los devuelve
+     * el servicio de productos.
      *
-     * - Si el cliente no existe, devuelve una lista vacía.
+     * - Si el cliente no existe, devuelve un error.
+     * - Los productos se emiten a medida que se leen, sin acumular la respuesta.
      *
      * @param customerId identificador del cliente
-     * @return lista de IDs de productos
+     * @return productos del cliente
+     */
+    public Flux<ProductDTO> getProducts(String customerId);
+
+    /**
+     * Obtiene los productos de varios clientes con una sola comprobación de existencia.
+     *
+     * - Los clientes que no existen se devuelven como NOT_FOUND.
+     * - Si falla la lectura de productos de un cliente, se devuelve como FAILED
+     *   sin afectar al resto.
+     *
+     * @param customerIds identificadores de los clientes
+     * @return un resultado por cliente distinto, en el orden de entrada
+     * @throws ValidationException si se piden más clientes de los permitidos
      */
-    public Flux<Product> getProducts(String customerId);
+    public Flux<CustomerProducts> getProductsOfCustomers(Collection<String> customerIds);
 }
\ No newline at end of file
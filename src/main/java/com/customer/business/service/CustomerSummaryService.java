@@ -0,0 +1,63 @@
+package com.customer.business.service;
+
+import com.customer.business.event.dto.CustomerEvent;
+import com.customer.business.event.dto.ProductEvent;
+import com.customer.business.model.dto.ProductDTO;
+import com.customer.business.model.entity.Customer;
+import com.customer.business.model.entity.CustomerSummary;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Vista materializada de clientes y productos ({@link CustomerSummary}).
+ */
+public interface CustomerSummaryService {
+
+    /**
+     * Aplica un evento de "customer-events".
+     */
+    Mono<Void> apply(CustomerEvent event);
+
+    /**
+     * Aplica un evento de "product-events". Un evento con fecha anterior a la del
+     * último aplicado a ese producto se descarta.
+     */
+    Mono<Void> apply(ProductEvent event);
+
+    /**
+     * Busca la vista del cliente si su lista de productos está completa y no supera
+     * la antigüedad máxima configurada.
+     *
+     * @param customerId identificador del cliente
+     * @return la vista o vacío si hay que consultar al servicio de productos
+     */
+    Mono<CustomerSummary> findFresh(String customerId);
+
+    /**
+     * Como {@link #findFresh(String)} para varios clientes, en una sola consulta
+     * {@code $in}.
+     *
+     * @param customerIds identificadores de los clientes
+     * @return las vistas vigentes; los clientes sin vista vigente no aparecen
+     */
+    Flux<CustomerSummary> findFresh(Collection<String> customerIds);
+
+    /**
+     * Reemplaza los productos de la vista con los obtenidos del servicio de productos.
+     * Si la vista cambió después de {@code fetchedAt} no se toca: los eventos
+     * aplicados mientras tanto son más recientes que la consulta.
+     *
+     * @param fetchedAt instante en que empezó la consulta al servicio de productos
+     */
+    Mono<Void> sync(Customer customer, List<ProductDTO> products, Instant fetchedAt);
+
+    /**
+     * Marca la lista de productos como incompleta tras un cambio hecho desde este
+     * servicio, hasta que llegue su evento o se vuelva a sincronizar.
+     */
+    Mono<Void> markStale(String customerId);
+}
@@ -0,0 +1,170 @@
+package com.customer.business.service.impl;
+
+import com.customer.business.cache.CustomerCache;
+import com.customer.business.event.outbox.CustomerEventOutbox;
+import com.customer.business.model.dto.CustomerBatchItem;
+import com.customer.business.model.entity.Customer;
+import com.customer.business.repository.CustomerRepository;
+import com.customer.business.service.CustomerBatchService;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Altas masivas de clientes por bloques de {@code customer.batch.chunk-size} elementos.
+ *
+ * Por bloque:
+ * - DNIs repetidos dentro del bloque: gana el primero.
+ * - Una consulta {@code $in} para los DNIs ya registrados.
+ * - Un {@code insertMany} con ids asignados de antemano y un evento CREATED por
+ *   cliente en el outbox, en la misma transacción ({@link CustomerEventOutbox#writeAll}):
+ *   un cliente nunca queda guardado sin su evento. Si otra alta gana un DNI o RUC del
+ *   bloque, la transacción no guarda nada y el bloque se repite cliente a cliente.
+ * - Escrituras a Redis concurrentes (Lettuce las encola en la misma conexión).
+ *
+ * La carga masiva ({@link #importAll}) no publica eventos y usa un {@code insertMany}
+ * no ordenado sin transacción.
+ *
+ * Los bloques se procesan en secuencia, de modo que un DNI repetido en bloques
+ * distintos se detecta al consultar el segundo.
+ */
+@Slf4j
+@Service
+public class CustomerBatchServiceImpl implements CustomerBatchService {
+
+    private final CustomerRepository customerRepository;
+
+    private final CustomerCache customerCache;
+
+    private final CustomerEventOutbox customerEventOutbox;
+
+    private final int chunkSize;
+
+    public CustomerBatchServiceImpl(CustomerRepository customerRepository,
+                                    CustomerCache customerCache,
+                                    CustomerEventOutbox customerEventOutbox,
+                                    @Value("${customer.batch.chunk-size:500}") int chunkSize) {
+        this.customerRepository = customerRepository;
+        this.customerCache = customerCache;
+        this.customerEventOutbox = customerEventOutbox;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public Flux<CustomerBatchItem> createAll(Flux<CustomerBatchItem> items) {
+        return items.buffer(chunkSize).concatMap(chunk -> insertChunk(chunk, true));
+    }
+
+    @Override
+    public Flux<CustomerBatchItem> importAll(Flux<CustomerBatchItem> items, int chunkSize,
+                                             int concurrency) {
+        return items.buffer(chunkSize)
+                .flatMap(chunk -> insertChunk(chunk, false), concurrency);
+    }
+
+    private Flux<CustomerBatchItem> insertChunk(List<CustomerBatchItem> chunk, boolean notify) {
+        List<CustomerBatchItem> results = new ArrayList<>(chunk);
+        Map<String, Integer> firstByDni = new HashMap<>();
+        for (int i = 0; i < results.size(); i++) {
+            CustomerBatchItem item = results.get(i);
+            if (item.isAccepted()
+                    && firstByDni.putIfAbsent(item.getCustomer().getDni(), i) != null) {
+                results.set(i, item.rejected("DNI duplicated in batch"));
+            }
+        }
+        return customerRepository.findExistingDnis(firstByDni.keySet())
+                .collect(Collectors.toSet())
+                .flatMap(existing -> insert(results, existing, notify))
+                .thenMany(Flux.defer(() -> Flux.fromIterable(results)));
+    }
+
+    private Mono<Void> insert(List<CustomerBatchItem> results, Set<String> existingDnis,
+                              boolean notify) {
+        List<Integer> positions = new ArrayList<>();
+        List<Customer> toInsert = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            CustomerBatchItem item = results.get(i);
+            if (!item.isAccepted()) {
+                continue;
+            }
+            if (existingDnis.contains(item.getCustomer().getDni())) {
+                results.set(i, item.rejected("DNI already exists"));
+            } else {
+                item.getCustomer().setId(new ObjectId().toHexString());
+                positions.add(i);
+                toInsert.add(item.getCustomer());
+            }
+        }
+        if (!notify) {
+            return customerRepository.insertUnordered(toInsert)
+                    .doOnNext(errors -> record(results, positions, toInsert, errors))
+                    .then();
+        }
+        if (toInsert.isEmpty()) {
+            return Mono.empty();
+        }
+        return customerEventOutbox.writeAll("CREATED", customerRepository.insert(toInsert))
+                .thenReturn(Collections.<Integer, String>emptyMap())
+                // un DNI o RUC registrado tras la consulta previa: la transacción no guardó
+                // nada, así que se repite cliente a cliente para saber cuáles fallan
+                .onErrorResume(DuplicateKeyException.class, error -> insertEach(toInsert))
+                // sin los eventos el alta no está completa: el error llega al llamador
+                .doOnError(error -> log.error("[CUSTOMER_BATCH] insert failed ids={}: {}",
+                        toInsert.stream().map(Customer::getId).collect(Collectors.toList()),
+                        error.toString()))
+                .flatMap(errors -> cache(record(results, positions, toInsert, errors)));
+    }
+
+    private Mono<Map<Integer, String>> insertEach(List<Customer> customers) {
+        Map<Integer, String> errors = new HashMap<>();
+        return Flux.range(0, customers.size())
+                .concatMap(k -> customerEventOutbox.write("CREATED",
+                                customerRepository.insert(customers.get(k)))
+                        .onErrorResume(DuplicateKeyException.class, error -> {
+                            errors.put(k, error.getMessage());
+                            return Mono.empty();
+                        }))
+                .then(Mono.fromSupplier(() -> errors));
+    }
+
+    private List<Customer> record(List<CustomerBatchItem> results, List<Integer> positions,
+                                  List<Customer> toInsert, Map<Integer, String> errors) {
+        List<Customer> inserted = new ArrayList<>(toInsert.size());
+        for (int k = 0; k < positions.size(); k++) {
+            int i = positions.get(k);
+            String error = errors.get(k);
+            if (error == null) {
+                results.set(i, results.get(i).created());
+                inserted.add(toInsert.get(k));
+            } else {
+                results.set(i, results.get(i).failed(error));
+            }
+        }
+        log.info("[CUSTOMER_BATCH] chunk size={} inserted={} failed={}",
+                results.size(), inserted.size(), errors.size());
+        return inserted;
+    }
+
+    private Mono<Void> cache(List<Customer> inserted) {
+        return Flux.fromIterable(inserted)
+                .flatMap(customerCache::put)
+                .then()
+                // la cache se rellena al leer; un fallo aquí no invalida el alta
+                .onErrorResume(error -> {
+                    log.warn("[CUSTOMER_BATCH] cache write failed: {}", error.toString());
+                    return Mono.empty();
+                });
+    }
+}
@@ -1,36 +1,50 @@
 package com.customer.business.service.impl;
 
-import com.customer.business.event.dto.CustomerEvent;
+import com.customer.business.cache.CustomerCache;
+import com.customer.business.cache.ProductCounts;
+import com.customer.business.cache.ProductCountsCache;
+import com.customer.business.config.MongoIndexConfig;
+import com.customer.business.event.outbox.CustomerEventOutbox;
+import com.customer.business.exception.DuplicateResourceException;
 import com.customer.business.exception.ResourceNotFoundException;
 import com.customer.business.exception.ValidationException;
+import com.customer.business.exception.VersionConflictException;
+import com.customer.business.model.dto.CustomerProducts;
 import com.customer.business.model.dto.ProductDTO;
 import com.customer.business.resilience.ResilienceOperatorService;
 import com.customer.business.validator.AddProductValidatorService;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.ReactiveRedisTemplate;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import com.customer.business.model.entity.Customer;
+import com.customer.business.model.entity.CustomerSummary;
 import com.customer.business.model.entity.Product;
 import com.customer.business.repository.CustomerRepository;
 import com.customer.business.service.CustomerService;
+import com.customer.business.service.CustomerSummaryService;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Servicio que encapsula la lógica de negocio relacionada con los clientes.
  * Se comunica con el repositorio {@link CustomerRepository} para persistencia en MongoDB.
  */
 @Slf4j
-@AllArgsConstructor
 @Service
 public class CustomerServiceImpl implements CustomerService {
 
@@ -44,131 +58,231 @@ public class CustomerServiceImpl implements CustomerService {
 
     private final ResilienceOperatorService resilienceOperatorService;
 
-    private final ReactiveRedisTemplate<String, Customer> redisTemplate;
+    private final CustomerCache customerCache;
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final CustomerEventOutbox customerEventOutbox;
+
+    private final CustomerSummaryService customerSummaryService;
+
+    private final ProductCountsCache productCountsCache;
+
+    private final int batchMaxCustomers;
+
+    private final int batchConcurrency;
+
+    public CustomerServiceImpl(CustomerRepository customerRepository,
+                               WebClient productWebClient,
+                               AddProductValidatorService productValidatorService,
+                               CircuitBreaker productServiceCircuitBreaker,
+                               ResilienceOperatorService resilienceOperatorService,
+                               CustomerCache customerCache,
+                               CustomerEventOutbox customerEventOutbox,
+                               CustomerSummaryService customerSummaryService,
+                               ProductCountsCache productCountsCache,
+                               @Value("${customer.products.batch.max-customers:100}")
+                               int batchMaxCustomers,
+                               @Value("${customer.products.batch.concurrency:8}")
+                               int batchConcurrency) {
+        this.customerRepository = customerRepository;
+        this.productWebClient = productWebClient;
+        this.productValidatorService = productValidatorService;
+        this.productServiceCircuitBreaker = productServiceCircuitBreaker;
+        this.resilienceOperatorService = resilienceOperatorService;
+        this.customerCache = customerCache;
+        this.customerEventOutbox = customerEventOutbox;
+        this.customerSummaryService = customerSummaryService;
+        this.productCountsCache = productCountsCache;
+        this.batchMaxCustomers = batchMaxCustomers;
+        this.batchConcurrency = batchConcurrency;
+    }
 
     /**
-     * Obtiene la lista de todos los clientes en la base de datos.
+     * Obtiene una página de clientes ordenada por id.
+     *
+     * - Usa el índice de _id (sin skip), así que el coste no crece con la página.
+     * - Con {@code fields} MongoDB devuelve solo esos campos.
      *
-     * @return lista de clientes
+     * @param afterId id del último cliente de la página anterior; null para la primera
+     * @param limit tamaño máximo de la página
+     * @param fields campos a leer; vacío para el documento completo
+     * @return clientes de la página
      */
     @Override
-    public Flux<Customer> findAll() {
-        return customerRepository.findAll();
+    public Flux<Customer> findPage(String afterId, int limit, Set<String> fields) {
+        return customerRepository.findPage(afterId, limit, fields);
+    }
+
+    /**
+     * Transmite los clientes desde el cursor, ordenados por id.
+     *
+     * - El cursor de MongoDB se lee por lotes según la demanda del suscriptor.
+     *
+     * @param afterId id desde el que continuar; null para empezar desde el inicio
+     * @param fields campos a leer; vacío para el documento completo
+     * @return flujo de clientes
+     */
+    @Override
+    public Flux<Customer> stream(String afterId, Set<String> fields) {
+        return customerRepository.stream(afterId, fields);
     }
 
     /**
      * Busca un cliente por su identificador.
+     *
+     * - Consulta {@link CustomerCache} (cache local y Redis) y, si no está, MongoDB.
+     * - Los aciertos en MongoDB se guardan en la cache.
+     * - Los fallos concurrentes para el mismo id comparten una sola lectura a MongoDB.
+     * - Los ids inexistentes se cachean como entradas negativas de TTL corto, de modo
+     *   que las consultas repetidas no llegan a MongoDB.
+     *
      * @param customerId identificador del cliente
      * @return Optional con el cliente si existe, vacío si no
      */
     @Override
     public Mono<Customer> findById(String customerId) {
-        return redisTemplate.opsForValue().get(customerId)
-                .switchIfEmpty(
-                        customerRepository.findById(customerId)
-                                .flatMap(customer ->
-                                        redisTemplate.opsForValue()
-                                                .set(customerId, customer)
-                                                .thenReturn(customer)
-                                )
-                )
+        return customerCache.getOrLoad(customerId, customerRepository::findById)
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException("Customer", customerId)));
     }
 
     /**
      * Crea un nuevo cliente en la base de datos.
      *
+     * - Los DNI/RUC duplicados los rechaza MongoDB con sus índices únicos
+     *   ({@link MongoIndexConfig}): una sola escritura, sin consulta previa ni carreras.
+     * - El evento CREATED se escribe en el outbox; lo publica {@code CustomerOutboxRelay}.
+     *
      * @param customer entidad del cliente a crear
      * @return cliente persistido
+     * @throws DuplicateResourceException si el DNI o el RUC ya están registrados
      */
     @Override
     public Mono<Customer> create(Customer customer) {
-        return customerRepository.existsByDni(customer.getDni())
-                .flatMap(exists -> {
-                    if (exists) {
-                        return Mono.error(new ValidationException("DNI already exists"));
-                    }
-                    return customerRepository.save(customer)
-                            .flatMap(savedCustomer -> {
-                                CustomerEvent event = new CustomerEvent(
-                                        "CREATED",
-                                        savedCustomer,
-                                        LocalDateTime.now()
-                                );
-                                kafkaTemplate.send("customer-events",
-                                        customer.getId(),
-                                        event
-                                );
-                                return redisTemplate
-                                        .opsForValue()
-                                        .set(savedCustomer.getId(), savedCustomer)
-                                        .thenReturn(savedCustomer);
-                            });
-                });
+        Mono<Customer> insert = customerRepository.save(customer)
+                .onErrorMap(DuplicateKeyException.class, CustomerServiceImpl::duplicated);
+        return customerEventOutbox.write("CREATED", insert)
+                .flatMap(customerCache::put);
+    }
+
+    private static DuplicateResourceException duplicated(DuplicateKeyException ex) {
+        String message = String.valueOf(ex.getMessage());
+        return new DuplicateResourceException(
+                message.contains(MongoIndexConfig.RUC_INDEX) ? "RUC" : "DNI");
     }
 
     /**
-     * * Actualiza un cliente existente.
-     * - Si el cliente no existe, lanza una excepción.
-     * - El ID del cliente se fuerza para coincidir con el recibido en el parámetro.
+     * Actualiza un cliente existente con un único {@code findAndModify}.
+     *
+     * - Solo escribe los campos actualizables ($set, o $unset si son nulos) e
+     *   incrementa la versión; no lee el cliente antes ni reemplaza el documento.
+     * - Si {@code customer} trae versión, la actualización solo se aplica si coincide
+     *   con la almacenada (control optimista de concurrencia).
+     * - El documento anterior devuelto por MongoDB permite calcular los campos
+     *   modificados y el cliente resultante, que se cachea.
      *
      * @param customerId identificador del cliente
-     * @param customer datos a actualizar
+     * @param customer datos a actualizar y, opcionalmente, la versión esperada
      * @return cliente actualizado
-     * @throws IllegalArgumentException si el cliente no existe
+     * @throws ResourceNotFoundException si el cliente no existe
+     * @throws VersionConflictException si la versión no coincide
      */
-    // Método update usando Redis y Kafka
     @Override
     public Mono<Customer> update(String customerId, Customer customer) {
-        return customerRepository.findById(customerId)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Customer", customerId)))
-                .flatMap(existing -> {
-                    existing.setFirstName(customer.getFirstName());
-                    existing.setLastName(customer.getLastName());
-                    existing.setBusinessName(customer.getBusinessName());
-                    existing.setAddress(customer.getAddress());
-                    existing.setPhone(customer.getPhone());
-                    existing.setEmail(customer.getEmail());
-                    return customerRepository.save(existing)
-                            .flatMap(updatedCustomer -> {
-                                return sendCustomerEvent(
-                                        "UPDATED",
-                                        updatedCustomer
-                                )
-                                        .then(
-                                                redisTemplate
-                                                        .opsForValue()
-                                                        .set(updatedCustomer.getId(),
-                                                                updatedCustomer)
-                                        )
-                                        .thenReturn(updatedCustomer);
-                            });
+        // se completa al aplicar el cambio, antes de que el outbox construya el evento
+        Set<String> changedFields = new LinkedHashSet<>();
+        Mono<Customer> change = customerRepository
+                .updateFields(customerId, customer.getVersion(), updatableFields(customer))
+                .switchIfEmpty(Mono.defer(() -> notUpdated(customerId, customer.getVersion())))
+                .map(previous -> {
+                    changedFields.addAll(changedFields(previous, customer));
+                    return applyUpdate(previous, customer);
                 });
+        return customerEventOutbox.write("UPDATED", change, changedFields)
+                .flatMap(customerCache::put);
+    }
+
+    private static Map<String, Object> updatableFields(Customer customer) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("firstName", customer.getFirstName());
+        fields.put("lastName", customer.getLastName());
+        fields.put("businessName", customer.getBusinessName());
+        fields.put("address", customer.getAddress());
+        fields.put("phone", customer.getPhone());
+        fields.put("email", customer.getEmail());
+        return fields;
+    }
+
+    /**
+     * El cliente tal como queda tras {@link #updatableFields}: el anterior con los
+     * campos escritos y la versión incrementada.
+     */
+    private static Customer applyUpdate(Customer previous, Customer changes) {
+        previous.setFirstName(changes.getFirstName());
+        previous.setLastName(changes.getLastName());
+        previous.setBusinessName(changes.getBusinessName());
+        previous.setAddress(changes.getAddress());
+        previous.setPhone(changes.getPhone());
+        previous.setEmail(changes.getEmail());
+        previous.setVersion(previous.getVersion() == null ? 1L : previous.getVersion() + 1);
+        return previous;
+    }
+
+    // solo se consulta MongoDB para distinguir un conflicto de versión de un id inexistente
+    private Mono<Customer> notUpdated(String customerId, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.error(new ResourceNotFoundException("Customer", customerId));
+        }
+        return customerRepository.existsById(customerId)
+                .flatMap(exists -> Mono.error(exists
+                        ? new VersionConflictException("Customer", customerId)
+                        : new ResourceNotFoundException("Customer", customerId)));
+    }
+
+    /**
+     * Campos actualizables cuyo valor cambia, para publicar el UPDATED como delta.
+     */
+    private static Set<String> changedFields(Customer existing, Customer changes) {
+        Set<String> changed = new LinkedHashSet<>();
+        addIfChanged(changed, "firstName", existing.getFirstName(), changes.getFirstName());
+        addIfChanged(changed, "lastName", existing.getLastName(), changes.getLastName());
+        addIfChanged(changed, "businessName",
+                existing.getBusinessName(), changes.getBusinessName());
+        addIfChanged(changed, "address", existing.getAddress(), changes.getAddress());
+        addIfChanged(changed, "phone", existing.getPhone(), changes.getPhone());
+        addIfChanged(changed, "email", existing.getEmail(), changes.getEmail());
+        return changed;
+    }
+
+    private static void addIfChanged(Set<String> changed, String field,
+                                     String current, String updated) {
+        if (!Objects.equals(current, updated)) {
+            changed.add(field);
+        }
     }
 
     /**
      * Elimina un cliente de la base de datos.
      *
+     * - La baja es un {@code findAndRemove}: una sola ida y vuelta a MongoDB que
+     *   devuelve el cliente eliminado para el evento DELETED.
+     * - La baja y el evento se escriben juntos en el outbox (en la misma transacción
+     *   si está activa); solo después el cliente se elimina de la cache (local y Redis).
+     *
      * @param customerId identificador del cliente a eliminar
+     * @throws ResourceNotFoundException si el cliente no existe
      */
     @Override
     public Mono<Void> delete(String customerId) {
-        return customerRepository.findById(customerId)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Customer", customerId)))
-                .flatMap(customer -> {
-                    return sendCustomerEvent("DELETED", customer)
-                            .then(customerRepository.deleteById(customerId))
-                            .then(redisTemplate.opsForValue().delete(customerId))
-                            .then();
-                });
+        Mono<Customer> removal = customerRepository.findAndDeleteById(customerId)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Customer", customerId)));
+        return customerEventOutbox.write("DELETED", removal)
+                .then(customerCache.evict(customerId));
     }
 
     /**
      * Agrega un producto a la lista de productos de un cliente.
      *
      * - Si el cliente no existe, lanza excepción.
+     * - El cliente y el resumen de sus productos se cargan en paralelo.
      * - Si la lista de productos está vacía, se inicializa.
      * - Evita duplicados: solo agrega el producto si no está ya presente.
      *
@@ -183,44 +297,118 @@ public class CustomerServiceImpl implements CustomerService {
             return Mono.error(new ValidationException("Product data missing"));
         }
 
-        return customerRepository.findById(customerId)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Customer", customerId)))
-                .flatMap(customer ->
-                        resilienceOperatorService.withCircuitBreaker(
-                                        productWebClient.get()
-                                                .uri("/customer/{customerId}", customerId)
-                                                .retrieve()
-                                                .bodyToFlux(ProductDTO.class),
-                                        productServiceCircuitBreaker
+        // compartida: la usa también la sincronización de la vista; si falla una de las
+        // dos cargas se cancela la otra
+        Mono<Customer> customer = findCustomer(customerId).cache();
+        Mono<ProductCounts> existingProducts = existingProductCounts(customerId, customer)
+                .onErrorMap(throwable -> new IllegalArgumentException(
+                        "Product service unavailable or timed out while fetching "
+                                + "existing products", throwable));
+        return Mono.zip(customer, existingProducts)
+                .flatMap(loaded -> Mono.fromRunnable(() ->
+                                validateNewProduct(loaded.getT1(), newProduct, loaded.getT2()))
+                        .then(createAndSendProductRequest(customerId, newProduct))
+                        .onErrorMap(throwable ->
+                                new IllegalArgumentException(
+                                        "Product service " +
+                                                "unavailable or " +
+                                                "timed out while " +
+                                                "fetching existing " +
+                                                "products",
+                                        throwable
                                 )
-                                .collectList()
-                                .flatMap(existingProducts -> {
-                                    String customerType = productValidatorService
-                                            .getCustomerType(customer.getCustomerType());
-                                    String customerProfile = productValidatorService
-                                            .getCustomerProfile(customer.getProfile());
-                                    String productType = newProduct.getType();
-                                    String productSubType = newProduct.getSubType();
-
-                                    productValidatorService.validateBusinessRules(
-                                            customerType, customerProfile, productType,
-                                            productSubType, existingProducts);
-
-                                    return createAndSendProductRequest(
-                                            customerId, newProduct
-                                    );
-                                })
-                                .onErrorMap(throwable ->
-                                        new IllegalArgumentException(
-                                                "Product service " +
-                                                        "unavailable or " +
-                                                        "timed out while " +
-                                                        "fetching existing " +
-                                                        "products",
-                                                throwable
-                                        )
-                                )
-                );
+                        ))
+                .then(productsChanged(customerId));
+    }
+
+    private Mono<Customer> findCustomer(String customerId) {
+        return customerRepository.findById(customerId)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Customer", customerId)));
+    }
+
+    /**
+     * Valida las reglas de negocio del nuevo producto con el resumen de productos
+     * del cliente.
+     */
+    private void validateNewProduct(Customer customer, Product newProduct,
+                                    ProductCounts existingProducts) {
+        productValidatorService.validateBusinessRules(
+                productValidatorService.getCustomerType(customer.getCustomerType()),
+                productValidatorService.getCustomerProfile(customer.getProfile()),
+                newProduct.getType(), newProduct.getSubType(), existingProducts);
+    }
+
+    /**
+     * Resumen de los productos existentes del cliente.
+     *
+     * - Usa el resumen cacheado en Redis ({@link ProductCountsCache}).
+     * - Si no está, la vista materializada del cliente si está completa y vigente.
+     * - Si no, consulta los productos al servicio externo y sincroniza la vista.
+     * - Lo obtenido de la vista o del servicio externo se cachea para las siguientes altas.
+     *
+     * @param customer carga del cliente en curso; solo se usa para sincronizar la vista
+     */
+    private Mono<ProductCounts> existingProductCounts(String customerId,
+                                                      Mono<Customer> customer) {
+        return productCountsCache.get(customerId)
+                .switchIfEmpty(Mono.defer(() -> findFreshSummary(customerId)
+                        .map(summary -> ProductCounts.of(summary.productList()))
+                        .switchIfEmpty(fetchExistingProducts(customerId, customer)
+                                .map(ProductCounts::of))
+                        .flatMap(counts -> productCountsCache.put(customerId, counts)
+                                .thenReturn(counts))));
+    }
+
+    private Mono<List<ProductDTO>> fetchExistingProducts(String customerId,
+                                                         Mono<Customer> customer) {
+        return Mono.defer(() -> {
+            Instant fetchedAt = Instant.now();
+            return resilienceOperatorService.withCircuitBreaker(
+                            productWebClient.get()
+                                    .uri("/customer/{customerId}", customerId)
+                                    .retrieve()
+                                    .bodyToFlux(ProductDTO.class),
+                            productServiceCircuitBreaker
+                    )
+                    .collectList()
+                    .flatMap(existingProducts -> customer
+                            // si el cliente no existe la operación falla por la otra rama
+                            .onErrorResume(ResourceNotFoundException.class,
+                                    error -> Mono.empty())
+                            .flatMap(found -> customerSummaryService.sync(found,
+                                    existingProducts, fetchedAt))
+                            .onErrorResume(error -> {
+                                log.warn("[CUSTOMER_SUMMARY] sync failed id={}: {}",
+                                        customerId, error.toString());
+                                return Mono.empty();
+                            })
+                            .thenReturn(existingProducts));
+        });
+    }
+
+    // la vista es una optimización: si MongoDB falla se consulta el servicio de productos
+    private Mono<CustomerSummary> findFreshSummary(String customerId) {
+        return customerSummaryService.findFresh(customerId)
+                .onErrorResume(error -> {
+                    log.warn("[CUSTOMER_SUMMARY] read failed id={}: {}",
+                            customerId, error.toString());
+                    return Mono.empty();
+                });
+    }
+
+    // el producto nuevo llega a la vista con su evento; hasta entonces no se usa
+    private Mono<Void> markProductsStale(String customerId) {
+        return customerSummaryService.markStale(customerId)
+                .onErrorResume(error -> {
+                    log.warn("[CUSTOMER_SUMMARY] mark stale failed id={}: {}",
+                            customerId, error.toString());
+                    return Mono.empty();
+                });
+    }
+
+    // invalida a la vez la vista y el resumen cacheado tras agregar o eliminar un producto
+    private Mono<Void> productsChanged(String customerId) {
+        return Mono.when(markProductsStale(customerId), productCountsCache.evict(customerId));
     }
 
     /**
@@ -250,7 +438,8 @@ public class CustomerServiceImpl implements CustomerService {
      * Elimina un producto de un cliente mediante comunicación
      * con el servicio externo de productos.
      *
-     * - Si el cliente no existe, lanza excepción.
+     * - Si el cliente no existe, lanza excepción sin llamar al servicio de productos:
+     *   la comprobación va antes del DELETE, que no se puede deshacer.
      * - Realiza una solicitud DELETE al servicio externo de productos.
      *
      * @param customerId identificador del cliente
@@ -260,62 +449,127 @@ public class CustomerServiceImpl implements CustomerService {
      */
     @Override
     public Mono<Void> removeProduct(String customerId, String productId) {
-        return customerRepository.findById(customerId)
-                .switchIfEmpty(Mono.error(
-                        new ResourceNotFoundException("Customer",
-                                customerId))
+        Mono<Void> call = productWebClient.delete()
+                .uri(
+                        "/{productId}/customers/{customerId}",
+                        productId, customerId
                 )
-                .flatMap(customer -> {
-                    Mono<Void> call = productWebClient.delete()
-                            .uri(
-                                    "/{productId}/customers/{customerId}",
-                                    productId, customerId
-                            )
-                            .retrieve()
-                            .bodyToMono(Void.class);
-                    return resilienceOperatorService.withCircuitBreaker(
-                            call, productServiceCircuitBreaker
-                            )
-                            .onErrorMap(
-                                    throwable -> new IllegalArgumentException(
-                                            "Product service unavailable or timed out",
-                                            throwable)
-                            );
-                });
+                .retrieve()
+                .bodyToMono(Void.class);
+        Mono<Void> removal = resilienceOperatorService.withCircuitBreaker(
+                        call, productServiceCircuitBreaker
+                )
+                .onErrorMap(
+                        throwable -> new IllegalArgumentException(
+                                "Product service unavailable or timed out",
+                                throwable)
+                );
+        // el servicio de productos ya comprueba que el producto sea del cliente de la URI
+        return findCustomer(customerId)
+                .then(removal)
+                .then(productsChanged(customerId));
     }
 
     /**
-     * Obtiene la lista de productos asociados a un cliente desde
+     * Obtiene los productos asociados a un cliente desde
      * el servicio externo de productos.
      *
      * - Si el cliente no existe, devuelve un error.
-     * - Realiza una solicitud GET al servicio externo de productos.
+     * - Si la vista materializada del cliente está completa y vigente, la usa.
+     * - Si no, realiza una solicitud GET al servicio externo de productos y
+     *   decodifica la respuesta elemento a elemento, sin acumularla.
+     * - La comprobación del cliente y la lectura de productos van en paralelo, en la
+     *   misma suscripción del llamador; ningún producto se emite antes de confirmar
+     *   que el cliente existe.
      *
      * @param customerId identificador del cliente
-     * @return Flux<Product> con los productos del cliente
+     * @return Flux<ProductDTO> con los productos del cliente
      */
     @Override
-    public Flux<Product> getProducts(String customerId) {
-        return customerRepository.findById(customerId)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Customer", customerId)))
-                .flatMapMany(customer ->
-                        resilienceOperatorService.withCircuitBreaker(
-                                productWebClient.get()
-                                        .uri("/{customerId}", customerId)
-                                        .retrieve()
-                                        .bodyToFlux(Product.class),
-                                productServiceCircuitBreaker
-                        )
-                );
+    public Flux<ProductDTO> getProducts(String customerId) {
+        Flux<ProductDTO> products = findFreshSummary(customerId)
+                .map(summary -> Flux.fromIterable(summary.productList()))
+                .defaultIfEmpty(Flux.defer(() -> fetchProducts(customerId)))
+                .flatMapMany(source -> source);
+        return Flux.defer(() -> {
+            Mono<Customer> customer = findCustomer(customerId).cache();
+            // la primera rama lanza la comprobación junto con la lectura y entrega su
+            // error; la segunda retiene cada producto hasta conocer el resultado
+            return Flux.merge(customer.then(Mono.<ProductDTO>empty()),
+                    products.delayUntil(product -> customer));
+        });
+    }
+
+    /**
+     * Obtiene los productos de varios clientes a la vez.
+     *
+     * - Los ids repetidos o nulos se ignoran; se aceptan como máximo
+     *   {@code customer.products.batch.max-customers} clientes.
+     * - La existencia de los clientes y sus vistas vigentes se leen con una consulta
+     *   {@code $in} cada una, en paralelo.
+     * - Los clientes sin vista vigente se consultan al servicio de productos con como
+     *   mucho {@code customer.products.batch.concurrency} llamadas a la vez (no hay
+     *   una operación masiva en el servicio de productos).
+     * - Un fallo del servicio de productos solo afecta al cliente que lo produjo.
+     *
+     * @param customerIds identificadores de los clientes
+     * @return un resultado por cliente, en el orden de entrada
+     */
+    @Override
+    public Flux<CustomerProducts> getProductsOfCustomers(Collection<String> customerIds) {
+        List<String> ids = customerIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        if (ids.size() > batchMaxCustomers) {
+            return Flux.error(new ValidationException(
+                    "At most " + batchMaxCustomers + " customers per request"));
+        }
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        Mono<Set<String>> existing = customerRepository.findExistingIds(ids)
+                .collect(Collectors.toSet());
+        Mono<Map<String, CustomerSummary>> summaries = customerSummaryService.findFresh(ids)
+                .collectMap(CustomerSummary::getId)
+                .onErrorResume(error -> {
+                    log.warn("[CUSTOMER_SUMMARY] batch read failed ids={}: {}",
+                            ids.size(), error.toString());
+                    return Mono.just(Collections.emptyMap());
+                });
+        return Mono.zip(existing, summaries)
+                .flatMapMany(loaded -> Flux.fromIterable(ids)
+                        .flatMapSequential(id -> productsOf(id, loaded.getT1(), loaded.getT2()),
+                                batchConcurrency));
+    }
+
+    private Mono<CustomerProducts> productsOf(String customerId, Set<String> existing,
+                                              Map<String, CustomerSummary> summaries) {
+        if (!existing.contains(customerId)) {
+            return Mono.just(CustomerProducts.notFound(customerId));
+        }
+        CustomerSummary summary = summaries.get(customerId);
+        if (summary != null) {
+            return Mono.just(CustomerProducts.found(customerId, summary.productList()));
+        }
+        return fetchProducts(customerId)
+                .collectList()
+                .map(products -> CustomerProducts.found(customerId, products))
+                .onErrorResume(error -> {
+                    log.warn("[GET_CUSTOMERS_PRODUCTS] products failed id={}: {}",
+                            customerId, error.toString());
+                    return Mono.just(CustomerProducts.failed(customerId,
+                            "Product service unavailable or timed out"));
+                });
     }
 
-    private Mono<Void> sendCustomerEvent(String eventType, Customer customer) {
-        return Mono.fromRunnable(() -> {
-            CustomerEvent event = new CustomerEvent(eventType, customer, LocalDateTime.now());
-            kafkaTemplate.send("customer-events", customer.getId(), event).addCallback(
-                    result -> log.debug("Customer event sent successfully: {}", event),
-                    ex -> log.error("Failed to send customer event: {}", event, ex)
-            );
-        }).subscribeOn(Schedulers.boundedElastic()).then();
+    private Flux<ProductDTO> fetchProducts(String customerId) {
+        return resilienceOperatorService.withCircuitBreaker(
+                productWebClient.get()
+                        .uri("/{customerId}", customerId)
+                        .retrieve()
+                        .bodyToFlux(ProductDTO.class),
+                productServiceCircuitBreaker
+        );
     }
 }
@@ -0,0 +1,166 @@
+package com.customer.business.service.impl;
+
+import com.customer.business.event.dto.CustomerEvent;
+import com.customer.business.event.dto.ProductEvent;
+import com.customer.business.model.dto.ProductDTO;
+import com.customer.business.model.entity.Customer;
+import com.customer.business.model.entity.CustomerSummary;
+import com.customer.business.service.CustomerSummaryService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mantiene "customer_summaries" con actualizaciones parciales (sin leer el documento).
+ *
+ * - customer-events: CREATED crea la vista con la lista de productos vacía y completa;
+ *   UPDATED actualiza tipo y perfil; DELETED la elimina.
+ * - product-events: cada producto se escribe o borra en {@code products.<id>} y la
+ *   fecha del evento se guarda en {@code productVersions.<id>}; un evento más antiguo
+ *   que el último aplicado (p. ej. un UPDATED reentregado tras el DELETED) se descarta.
+ * - sync reemplaza los productos solo si la vista no cambió durante la consulta al
+ *   servicio de productos.
+ * - Las vistas con productos sincronizados hace más de {@code customer.summary.max-age}
+ *   se consideran vencidas y se vuelven a sincronizar con el servicio de productos.
+ */
+@Service
+public class CustomerSummaryServiceImpl implements CustomerSummaryService {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final Duration maxAge;
+
+    public CustomerSummaryServiceImpl(ReactiveMongoTemplate mongoTemplate,
+                                      @Value("${customer.summary.max-age:1h}") Duration maxAge) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxAge = maxAge;
+    }
+
+    @Override
+    public Mono<Void> apply(CustomerEvent event) {
+        if (event == null || event.getCustomer() == null || event.getCustomer().getId() == null) {
+            return Mono.empty();
+        }
+        Customer customer = event.getCustomer();
+        Query query = byId(customer.getId());
+        if ("DELETED".equals(event.getEventType())) {
+            return mongoTemplate.remove(query, CustomerSummary.class).then();
+        }
+        Update update = new Update().set("updatedAt", Instant.now());
+        // un evento delta solo trae los campos modificados
+        if (!event.isDelta() || event.getChangedFields().contains("customerType")) {
+            update.set("customerType", customer.getCustomerType());
+        }
+        if (!event.isDelta() || event.getChangedFields().contains("profile")) {
+            update.set("profile", customer.getProfile());
+        }
+        if ("CREATED".equals(event.getEventType())) {
+            // un cliente nuevo no tiene productos
+            update.setOnInsert("productsSynced", true)
+                    .setOnInsert("productsSyncedAt", Instant.now());
+        } else {
+            update.setOnInsert("productsSynced", false);
+        }
+        return mongoTemplate.upsert(query, update, CustomerSummary.class).then();
+    }
+
+    @Override
+    public Mono<Void> apply(ProductEvent event) {
+        if (event == null || event.getProduct() == null
+                || event.getProduct().getId() == null
+                || event.getProduct().getCustomerId() == null) {
+            return Mono.empty();
+        }
+        ProductDTO product = event.getProduct();
+        String path = "products." + product.getId();
+        String version = "productVersions." + product.getId();
+        Criteria criteria = Criteria.where("_id").is(product.getCustomerId());
+        Update update = "DELETED".equals(event.getEventType())
+                ? new Update().unset(path)
+                : new Update().set(path, product);
+        update.set("updatedAt", Instant.now())
+                // la vista nace del evento: faltan los productos anteriores
+                .setOnInsert("productsSynced", false);
+        if (event.getTimestamp() != null) {
+            // el borrado también guarda su fecha, para que no lo deshaga un evento anterior
+            criteria.orOperator(Criteria.where(version).exists(false),
+                    Criteria.where(version).lt(event.getTimestamp()));
+            update.set(version, event.getTimestamp());
+        }
+        return upsertIfCurrent(Query.query(criteria), update);
+    }
+
+    @Override
+    public Mono<CustomerSummary> findFresh(String customerId) {
+        Query query = byId(customerId).addCriteria(fresh());
+        return mongoTemplate.findOne(query, CustomerSummary.class);
+    }
+
+    @Override
+    public Flux<CustomerSummary> findFresh(Collection<String> customerIds) {
+        if (customerIds.isEmpty()) {
+            return Flux.empty();
+        }
+        Query query = Query.query(Criteria.where("_id").in(customerIds)).addCriteria(fresh());
+        return mongoTemplate.find(query, CustomerSummary.class);
+    }
+
+    private Criteria fresh() {
+        return Criteria.where("productsSynced").is(true)
+                .and("productsSyncedAt").gte(Instant.now().minus(maxAge));
+    }
+
+    @Override
+    public Mono<Void> sync(Customer customer, List<ProductDTO> products, Instant fetchedAt) {
+        Map<String, ProductDTO> productsById = new LinkedHashMap<>();
+        for (ProductDTO product : products) {
+            if (product.getId() != null) {
+                productsById.put(product.getId(), product);
+            }
+        }
+        Instant now = Instant.now();
+        Update update = new Update()
+                .set("customerType", customer.getCustomerType())
+                .set("profile", customer.getProfile())
+                .set("products", productsById)
+                .set("productsSynced", productsById.size() == products.size())
+                .set("productsSyncedAt", now)
+                .set("updatedAt", now);
+        Criteria unchanged = Criteria.where("_id").is(customer.getId())
+                .orOperator(Criteria.where("updatedAt").exists(false),
+                        Criteria.where("updatedAt").lte(fetchedAt));
+        return upsertIfCurrent(Query.query(unchanged), update);
+    }
+
+    // Si la vista existe pero no cumple la condición, el upsert intenta insertar otro
+    // documento con el mismo _id: la vista ya tiene un cambio más reciente.
+    private Mono<Void> upsertIfCurrent(Query query, Update update) {
+        return mongoTemplate.upsert(query, update, CustomerSummary.class)
+                .then()
+                .onErrorResume(DuplicateKeyException.class, error -> Mono.empty());
+    }
+
+    @Override
+    public Mono<Void> markStale(String customerId) {
+        return mongoTemplate.updateFirst(byId(customerId),
+                        new Update().set("productsSynced", false), CustomerSummary.class)
+                .then();
+    }
+
+    private static Query byId(String customerId) {
+        return Query.query(Criteria.where("_id").is(customerId));
+    }
+}
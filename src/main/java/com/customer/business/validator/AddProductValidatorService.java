@@ -1,5 +1,6 @@
 package com.customer.business.validator;
 
+import com.customer.business.cache.ProductCounts;
 import com.customer.business.exception.ValidationException;
 import com.customer.business.model.dto.ProductDTO;
 import com.customer.business.util.enums.CustomerType;
@@ -19,18 +20,28 @@ public class AddProductValidatorService {
     public void validateBusinessRules(String customerType, String customerProfile,
                                       String productType, String productSubType,
                                       List<ProductDTO> existingProducts) {
-        // Contar tipos de productos existentes
-        long savingsCount = countProductsByType(
-                existingProducts, ProductType.ACCOUNT, ProductSubType.SAVINGS);
-        long currentCount = countProductsByType(
-                existingProducts, ProductType.ACCOUNT, ProductSubType.CURRENT);
-        long fixedCount = countProductsByType(
-                existingProducts, ProductType.ACCOUNT, ProductSubType.FIXED_TERM);
-        long personalLoanCount = countProductsByType(
-                existingProducts, ProductType.LOAN, ProductSubType.PERSONAL_LOAN);
-        boolean hasCreditCard = hasProductType(
-                existingProducts, ProductType.CREDIT_CARD);
+        validateBusinessRules(customerType, customerProfile, productType, productSubType,
+                ProductCounts.of(existingProducts));
+    }
+
+    /**
+     * Valida las reglas de negocio con el resumen de productos del cliente
+     * (p. ej. el cacheado en Redis), sin la lista de productos.
+     */
+    public void validateBusinessRules(String customerType, String customerProfile,
+                                      String productType, String productSubType,
+                                      ProductCounts counts) {
+        validateBusinessRules(customerType, customerProfile, productType, productSubType,
+                counts.count(ProductType.ACCOUNT, ProductSubType.SAVINGS),
+                counts.count(ProductType.ACCOUNT, ProductSubType.CURRENT),
+                counts.count(ProductType.LOAN, ProductSubType.PERSONAL_LOAN),
+                counts.isCreditCard());
+    }
 
+    private void validateBusinessRules(String customerType, String customerProfile,
+                                       String productType, String productSubType,
+                                       long savingsCount, long currentCount,
+                                       long personalLoanCount, boolean hasCreditCard) {
         // Validar reglas de negocio
         validateBusinessCustomerRules(
                 customerType, productType, productSubType);
@@ -44,29 +55,6 @@ public class AddProductValidatorService {
                 customerType, customerProfile, productType, productSubType, hasCreditCard);
     }
 
-    /**
-     * Cuenta productos por tipo y subtipo
-     */
-    private long countProductsByType(
-            List<ProductDTO> products, ProductType type, ProductSubType subType) {
-        return products.stream()
-                .filter(
-                        product ->
-                                type.getValue().equalsIgnoreCase(product.getType()) &&
-                        subType.getValue().equalsIgnoreCase(product.getSubType()))
-                .count();
-    }
-
-    /**
-     * Verifica si el cliente tiene un tipo específico de producto
-     */
-    private boolean hasProductType(
-            List<ProductDTO> products, ProductType type) {
-        return products.stream()
-                .anyMatch(
-                        product -> type.getValue().equalsIgnoreCase(product.getType()));
-    }
-
     /**
      * Valida reglas para clientes empresariales
      */
@@ -1,8 +1,14 @@
 package com.customer.business;
 
-import com.customer.business.cache.CacheService;
 import com.customer.business.mapper.CustomerMapper;
+import com.customer.business.exception.DuplicateResourceException;
+import com.customer.business.exception.ResourceNotFoundException;
+import com.customer.business.exception.ValidationException;
+import com.customer.business.exception.VersionConflictException;
+import com.customer.business.model.CustomerBatchResult;
 import com.customer.business.model.CustomerCreateRequest;
+import com.customer.business.model.CustomerProductsBatchRequest;
+import com.customer.business.model.CustomerProductsResult;
 import com.customer.business.model.CustomerResponse;
 import com.customer.business.model.CustomerUpdateRequest;
 import com.customer.business.model.DebitCardAssociationRequest;
@@ -12,8 +18,12 @@ import com.customer.business.model.PaymentResponse;
 import com.customer.business.model.ProductReportResponse;
 import com.customer.business.model.ProductRequest;
 import com.customer.business.model.ProductResponse;
+import com.customer.business.model.dto.CustomerBatchItem;
+import com.customer.business.model.dto.CustomerProducts;
+import com.customer.business.model.dto.ProductDTO;
 import com.customer.business.model.entity.Customer;
 import com.customer.business.model.entity.Product;
+import com.customer.business.service.CustomerBatchService;
 import com.customer.business.service.CustomerService;
 import com.customer.business.service.DebitCardService;
 import com.customer.business.service.PaymentService;
@@ -34,7 +44,16 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
@@ -70,7 +89,7 @@ class CustomerApiImplTest {
     private CreateCustomerValidator createValidator;
 
     @MockBean
-    private CacheService cacheService;
+    private CustomerBatchService customerBatchService;
 
     private CustomerCreateRequest customerCreateRequest;
 
@@ -127,6 +146,25 @@ class CustomerApiImplTest {
                 .isEqualTo(customerResponse);
     }
 
+    @Test
+    @DisplayName("POST /api/customers - DNI o RUC duplicado")
+    void createCustomerShouldReturnConflictOnDuplicate() {
+        doNothing().when(createValidator).validate(any());
+        when(customerMapper.getCustomerofCustomerCreateRequest(any())).thenReturn(customerEntity);
+        when(customerService.create(any()))
+                .thenReturn(Mono.error(new DuplicateResourceException("RUC")));
+
+        webTestClient.post()
+                .uri("/api/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(customerCreateRequest)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("DUPLICATE_RESOURCE")
+                .jsonPath("$.message").isEqualTo("RUC already exists");
+    }
+
     @Test
     @DisplayName("POST /api/customers - error de validación")
     void createCustomerShouldReturnBadRequestOnValidation() {
@@ -140,25 +178,163 @@ class CustomerApiImplTest {
                 .expectStatus().is5xxServerError();
     }
 
+    @Test
+    @DisplayName("POST /api/customers:batch - resultado por elemento")
+    void createCustomersBatchShouldReturnResultPerItem() {
+        CustomerCreateRequest invalid = new CustomerCreateRequest();
+        invalid.setFirstName("Invalid");
+        doThrow(new ValidationException("DNI is required")).when(createValidator)
+                .validate(argThat(request -> request != null
+                        && "Invalid".equals(request.getFirstName())));
+        when(customerMapper.getCustomerofCustomerCreateRequest(any())).thenReturn(customerEntity);
+        when(customerBatchService.createAll(any())).thenAnswer(invocation -> {
+            Flux<CustomerBatchItem> items = invocation.getArgument(0);
+            return items.map(item -> item.isAccepted() ? item.created() : item);
+        });
+        when(customerMapper.getCustomerBatchResultOfItem(any())).thenAnswer(invocation -> {
+            CustomerBatchItem item = invocation.getArgument(0);
+            CustomerBatchResult result = new CustomerBatchResult();
+            result.setIndex(item.getIndex());
+            result.setStatus(CustomerBatchResult.StatusEnum.fromValue(item.getStatus()));
+            result.setMessage(item.getMessage());
+            return result;
+        });
+
+        webTestClient.post()
+                .uri("/api/customers:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Arrays.asList(customerCreateRequest, invalid))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CustomerBatchResult.class)
+                .hasSize(2)
+                .value(results -> {
+                    assertEquals(CustomerBatchResult.StatusEnum.CREATED,
+                            results.get(0).getStatus());
+                    assertEquals(CustomerBatchResult.StatusEnum.REJECTED,
+                            results.get(1).getStatus());
+                    assertEquals("DNI is required", results.get(1).getMessage());
+                });
+    }
+
     @Test
     @DisplayName("GET /api/customers - éxito")
     void getAllCustomersShouldReturnList() {
-        when(customerService.findAll()).thenReturn(Flux.just(customerEntity));
+        when(customerService.findPage(null, 51, Collections.emptySet()))
+                .thenReturn(Flux.just(customerEntity));
         when(customerMapper.getCustomerResponseOfCustomer(any())).thenReturn(customerResponse);
 
         webTestClient.get()
                 .uri("/api/customers")
                 .exchange()
                 .expectStatus().isOk()
+                .expectHeader().doesNotExist(CustomerApiImpl.NEXT_CURSOR_HEADER)
                 .expectBodyList(CustomerResponse.class)
                 .hasSize(1)
                 .contains(customerResponse);
     }
 
+    @Test
+    @DisplayName("GET /api/customers - devuelve el cursor de la página siguiente")
+    void getAllCustomersShouldReturnNextCursor() {
+        Customer second = new Customer();
+        second.setId("2");
+        when(customerService.findPage("0", 2, Collections.emptySet()))
+                .thenReturn(Flux.just(customerEntity, second));
+        when(customerMapper.getCustomerResponseOfCustomer(any())).thenReturn(customerResponse);
+
+        webTestClient.get()
+                .uri("/api/customers?after=0&limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(CustomerApiImpl.NEXT_CURSOR_HEADER,
+                        customerEntity.getId())
+                .expectBodyList(CustomerResponse.class)
+                .hasSize(1);
+    }
+
+    @Test
+    @DisplayName("GET /api/customers - NDJSON transmite desde el cursor")
+    void getAllCustomersShouldStreamNdjson() {
+        when(customerService.stream("0", Collections.emptySet()))
+                .thenReturn(Flux.just(customerEntity));
+        when(customerMapper.getCustomerResponseOfCustomer(any())).thenReturn(customerResponse);
+
+        webTestClient.get()
+                .uri("/api/customers?after=0")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(CustomerResponse.class)
+                .hasSize(1);
+    }
+
+    @Test
+    @DisplayName("GET /api/customers - proyecta solo los campos pedidos")
+    void getAllCustomersShouldProjectFields() {
+        Set<String> fields = new LinkedHashSet<>(Arrays.asList("id", "firstName"));
+        when(customerService.findPage(null, 51, fields)).thenReturn(Flux.just(customerEntity));
+        when(customerMapper.getCustomerResponseOfCustomer(any())).thenReturn(customerResponse);
+
+        webTestClient.get()
+                .uri("/api/customers?fields=firstName")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CustomerResponse.class)
+                .hasSize(1);
+    }
+
+    @Test
+    @DisplayName("GET /api/customers - campo desconocido")
+    void getAllCustomersShouldRejectUnknownField() {
+        webTestClient.get()
+                .uri("/api/customers?fields=password")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("GET /api/customers/{id} - devuelve solo los campos pedidos")
+    void getCustomerByIdShouldReturnSparseCustomer() {
+        customerEntity.setFirstName("John");
+        customerEntity.setDni("12345678");
+        when(customerService.findById("1")).thenReturn(Mono.just(customerEntity));
+        when(customerMapper.getCustomerResponseOfCustomer(argThat(customer ->
+                "John".equals(customer.getFirstName()) && customer.getDni() == null)))
+                .thenReturn(customerResponse);
+
+        webTestClient.get()
+                .uri("/api/customers/1?fields=firstName")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CustomerResponse.class)
+                .isEqualTo(customerResponse);
+    }
+
+    @Test
+    @DisplayName("GET /api/customers/{id} - solo omite los campos nulos si se piden fields")
+    void getCustomerByIdShouldOmitNullsOnlyForSparseCustomer() {
+        when(customerService.findById("1")).thenReturn(Mono.just(customerEntity));
+        when(customerMapper.getCustomerResponseOfCustomer(any())).thenReturn(customerResponse);
+
+        webTestClient.get()
+                .uri("/api/customers/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> assertTrue(body.contains("\"dni\":null")));
+        webTestClient.get()
+                .uri("/api/customers/1?fields=firstName")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> assertFalse(body.contains("dni")));
+    }
+
     @Test
     @DisplayName("GET /api/customers/{id} - éxito")
     void getCustomerByIdShouldReturnCustomer() {
-        when(cacheService.getCachedCustomer("1")).thenReturn(Mono.empty());
         when(customerService.findById("1")).thenReturn(Mono.just(customerEntity));
         when(customerMapper.getCustomerResponseOfCustomer(any())).thenReturn(customerResponse);
 
@@ -170,10 +346,23 @@ class CustomerApiImplTest {
                 .isEqualTo(customerResponse);
     }
 
+    @Test
+    @DisplayName("GET /api/customers/{id} - devuelve la versión como ETag")
+    void getCustomerByIdShouldReturnVersionAsEtag() {
+        customerEntity.setVersion(5L);
+        when(customerService.findById("1")).thenReturn(Mono.just(customerEntity));
+        when(customerMapper.getCustomerResponseOfCustomer(any())).thenReturn(customerResponse);
+
+        webTestClient.get()
+                .uri("/api/customers/1?fields=firstName")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"5\"");
+    }
+
     @Test
     @DisplayName("GET /api/customers/{id} - no encontrado")
     void getCustomerByIdShouldReturnNotFound() {
-        when(cacheService.getCachedCustomer("1")).thenReturn(Mono.empty());
         when(customerService.findById("1")).thenReturn(Mono.empty());
 
         webTestClient.get()
@@ -188,7 +377,6 @@ class CustomerApiImplTest {
         CustomerUpdateRequest updateRequest = new CustomerUpdateRequest();
         updateRequest.setFirstName("Updated");
         doNothing().when(updateValidator).validate(any());
-        when(customerService.findById("1")).thenReturn(Mono.just(customerEntity));
         when(customerService.update(eq("1"), any())).thenReturn(Mono.just(customerEntity));
         when(customerMapper.getCustomerFromUpdateRequest(any(), any())).thenReturn(customerEntity);
         when(customerMapper.getCustomerResponseOfCustomer(any())).thenReturn(customerResponse);
@@ -203,6 +391,48 @@ class CustomerApiImplTest {
                 .isEqualTo(customerResponse);
     }
 
+    @Test
+    @DisplayName("PUT /api/customers/{id} - If-Match como versión esperada y ETag")
+    void updateCustomerShouldUseIfMatchVersion() {
+        CustomerUpdateRequest updateRequest = new CustomerUpdateRequest();
+        updateRequest.setFirstName("Updated");
+        Customer updated = new Customer();
+        updated.setId("1");
+        updated.setVersion(4L);
+        doNothing().when(updateValidator).validate(any());
+        when(customerMapper.getCustomerFromUpdateRequest(any(), any())).thenReturn(new Customer());
+        when(customerService.update(eq("1"),
+                argThat(changes -> Long.valueOf(3L).equals(changes.getVersion()))))
+                .thenReturn(Mono.just(updated));
+        when(customerMapper.getCustomerResponseOfCustomer(any())).thenReturn(customerResponse);
+
+        webTestClient.put()
+                .uri("/api/customers/1")
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updateRequest)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"4\"");
+    }
+
+    @Test
+    @DisplayName("PUT /api/customers/{id} - conflicto de versión")
+    void updateCustomerShouldReturnConflictOnVersionMismatch() {
+        doNothing().when(updateValidator).validate(any());
+        when(customerMapper.getCustomerFromUpdateRequest(any(), any())).thenReturn(new Customer());
+        when(customerService.update(eq("1"), any()))
+                .thenReturn(Mono.error(new VersionConflictException("Customer", "1")));
+
+        webTestClient.put()
+                .uri("/api/customers/1")
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CustomerUpdateRequest())
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
     @Test
     @DisplayName("PUT /api/customers/{id} - error de validación")
     void updateCustomerShouldReturnBadRequestOnValidation() {
@@ -220,7 +450,6 @@ class CustomerApiImplTest {
     @Test
     @DisplayName("DELETE /api/customers/{id} - éxito")
     void deleteCustomerShouldReturnNoContent() {
-        when(customerService.findById("1")).thenReturn(Mono.just(customerEntity));
         when(customerService.delete("1")).thenReturn(Mono.empty());
 
         webTestClient.delete()
@@ -232,7 +461,8 @@ class CustomerApiImplTest {
     @Test
     @DisplayName("DELETE /api/customers/{id} - no encontrado")
     void deleteCustomerShouldReturnNotFound() {
-        when(customerService.findById("1")).thenReturn(Mono.empty());
+        when(customerService.delete("1"))
+                .thenReturn(Mono.error(new ResourceNotFoundException("Customer", "1")));
 
         webTestClient.delete()
                 .uri("/api/customers/1")
@@ -280,15 +510,15 @@ class CustomerApiImplTest {
     @Test
     @DisplayName("GET /api/customers/{id}/products - éxito")
     void getCustomerProductsShouldReturnOk() {
-        Product product = new Product(
-                "1", "LIABILITY", "ACCOUNT", "SAVINGS"
+        ProductDTO product = new ProductDTO(
+                "p1", "1", "LIABILITY", "ACCOUNT", "SAVINGS"
         );
         ProductResponse productResponse = new ProductResponse();
         productResponse.setCategory(ProductResponse.CategoryEnum.LIABILITY);
         productResponse.setType(ProductResponse.TypeEnum.ACCOUNT);
         productResponse.setSubType(ProductResponse.SubTypeEnum.SAVINGS);
         when(customerService.getProducts("1")).thenReturn(Flux.just(product));
-        // El mapeo se hace inline en el controlador
+        when(customerMapper.getProductResponseOfProduct(product)).thenReturn(productResponse);
 
         webTestClient.get()
                 .uri("/api/customers/1/products")
@@ -298,6 +528,64 @@ class CustomerApiImplTest {
                 .hasSize(1);
     }
 
+    @Test
+    @DisplayName("GET /api/customers/{id}/products - NDJSON transmite los productos")
+    void getCustomerProductsShouldStreamNdjson() {
+        ProductDTO product = new ProductDTO(
+                "p1", "1", "LIABILITY", "ACCOUNT", "SAVINGS"
+        );
+        when(customerService.getProducts("1")).thenReturn(Flux.just(product, product));
+        when(customerMapper.getProductResponseOfProduct(any())).thenReturn(new ProductResponse());
+
+        webTestClient.get()
+                .uri("/api/customers/1/products")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(ProductResponse.class)
+                .hasSize(2);
+    }
+
+    @Test
+    @DisplayName("POST /api/customers/products:batch - resultado por cliente")
+    void getCustomersProductsShouldReturnResultPerCustomer() {
+        ProductDTO product = new ProductDTO(
+                "p1", "1", "LIABILITY", "ACCOUNT", "SAVINGS"
+        );
+        when(customerService.getProductsOfCustomers(Arrays.asList("1", "2")))
+                .thenReturn(Flux.just(CustomerProducts.found("1",
+                                Collections.singletonList(product)),
+                        CustomerProducts.notFound("2")));
+        when(customerMapper.getCustomerProductsResultOfCustomerProducts(any()))
+                .thenAnswer(invocation -> {
+                    CustomerProducts item = invocation.getArgument(0);
+                    CustomerProductsResult result = new CustomerProductsResult();
+                    result.setCustomerId(item.getCustomerId());
+                    result.setStatus(
+                            CustomerProductsResult.StatusEnum.fromValue(item.getStatus()));
+                    return result;
+                });
+        CustomerProductsBatchRequest request = new CustomerProductsBatchRequest();
+        request.setCustomerIds(Arrays.asList("1", "2"));
+
+        webTestClient.post()
+                .uri("/api/customers/products:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CustomerProductsResult.class)
+                .hasSize(2)
+                .value(results -> {
+                    assertEquals("1", results.get(0).getCustomerId());
+                    assertEquals(CustomerProductsResult.StatusEnum.FOUND,
+                            results.get(0).getStatus());
+                    assertEquals(CustomerProductsResult.StatusEnum.NOT_FOUND,
+                            results.get(1).getStatus());
+                });
+    }
+
     @Test
     @DisplayName("POST /api/customers/{id}/products - éxito")
     void addProductToCustomerShouldReturnNoContent() {
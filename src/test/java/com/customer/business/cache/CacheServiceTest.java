@@ -1,7 +1,5 @@
 package com.customer.business.cache;
 
-import com.customer.business.model.entity.Customer;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,9 +22,6 @@ class CacheServiceTest {
     @Mock
     private ReactiveRedisTemplate<String, Object> redisTemplate;
 
-    @Mock
-    private ObjectMapper objectMapper;
-
     @Mock
     private ReactiveValueOperations<String, Object> valueOperations;
 
@@ -39,48 +34,6 @@ class CacheServiceTest {
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
     }
 
-    @Test
-    @DisplayName("cacheCustomer debe guardar correctamente")
-    void cacheCustomerShouldStoreCustomer() {
-        Customer customer = new Customer();
-        when(valueOperations.set(eq("key"), eq(customer), any(Duration.class)))
-            .thenReturn(Mono.just(true));
-        StepVerifier.create(cacheService.cacheCustomer("key", customer))
-                .expectNext(true)
-                .verifyComplete();
-    }
-
-    @Test
-    @DisplayName("getCachedCustomer debe devolver Customer si ya es instancia")
-    void getCachedCustomerShouldReturnCustomerInstance() {
-        Customer customer = new Customer();
-        when(valueOperations.get("key")).thenReturn(Mono.just(customer));
-        StepVerifier.create(cacheService.getCachedCustomer("key"))
-                .expectNext(customer)
-                .verifyComplete();
-    }
-
-    @Test
-    @DisplayName("getCachedCustomer debe convertir si no es instancia")
-    void getCachedCustomerShouldConvertIfNotInstance() {
-        Object obj = new Object();
-        Customer customer = new Customer();
-        when(valueOperations.get("key")).thenReturn(Mono.just(obj));
-        when(objectMapper.convertValue(obj, Customer.class)).thenReturn(customer);
-        StepVerifier.create(cacheService.getCachedCustomer("key"))
-                .expectNext(customer)
-                .verifyComplete();
-    }
-
-    @Test
-    @DisplayName("evictCustomer debe eliminar correctamente")
-    void evictCustomerShouldDelete() {
-        when(valueOperations.delete("key")).thenReturn(Mono.just(true));
-        StepVerifier.create(cacheService.evictCustomer("key"))
-                .expectNext(true)
-                .verifyComplete();
-    }
-
     @Test
     @DisplayName("cacheObject debe guardar correctamente")
     void cacheObjectShouldStore() {
@@ -101,24 +54,12 @@ class CacheServiceTest {
     }
 
     @Test
-    @DisplayName("cacheCustomer maneja error de Redis")
-    void cacheCustomerHandlesRedisError() {
-        Customer customer = new Customer();
-        when(valueOperations.set(eq("key"), eq(customer), any(Duration.class)))
-            .thenReturn(Mono.error(new RuntimeException("Redis error")));
-        StepVerifier.create(cacheService.cacheCustomer("key", customer))
-            .expectErrorMatches(e -> e.getMessage().equals("Redis error"))
-            .verify();
-    }
-
-    @Test
-    @DisplayName("evictCustomer maneja error de Redis")
-    void evictCustomerHandlesRedisError() {
-        when(valueOperations.delete("key"))
-            .thenReturn(Mono.error(new RuntimeException("Redis error")));
-        StepVerifier.create(cacheService.evictCustomer("key"))
-            .expectErrorMatches(e -> e.getMessage().equals("Redis error"))
-            .verify();
+    @DisplayName("evictObject debe eliminar correctamente")
+    void evictObjectShouldDelete() {
+        when(valueOperations.delete("key")).thenReturn(Mono.just(true));
+        StepVerifier.create(cacheService.evictObject("key"))
+                .expectNext(true)
+                .verifyComplete();
     }
 
     @Test
@@ -142,4 +83,14 @@ class CacheServiceTest {
             .expectErrorMatches(e -> e.getMessage().equals("Redis error"))
             .verify();
     }
+
+    @Test
+    @DisplayName("evictObject maneja error de Redis")
+    void evictObjectHandlesRedisError() {
+        when(valueOperations.delete("key"))
+            .thenReturn(Mono.error(new RuntimeException("Redis error")));
+        StepVerifier.create(cacheService.evictObject("key"))
+            .expectErrorMatches(e -> e.getMessage().equals("Redis error"))
+            .verify();
+    }
 }
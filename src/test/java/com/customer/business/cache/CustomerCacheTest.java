@@ -0,0 +1,280 @@
+package com.customer.business.cache;
+
+import com.customer.business.model.entity.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private static final Duration STALE_TTL = Duration.ofMinutes(5);
+
+    private static final Duration NEGATIVE_TTL = Duration.ofSeconds(30);
+
+    @Mock
+    private ReactiveRedisTemplate<String, CustomerCacheEntry> redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, CustomerCacheEntry> valueOperations;
+
+    @Mock
+    private CustomerNearCache nearCache;
+
+    @Mock
+    private CustomerIdFilter idFilter;
+
+    private CustomerCache customerCache;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.set(anyString(), any(CustomerCacheEntry.class), any(Duration.class)))
+                .thenReturn(Mono.just(true));
+        when(idFilter.mightContain(anyString())).thenReturn(true);
+        customerCache = new CustomerCache(redisTemplate, nearCache, idFilter,
+                TTL, STALE_TTL, NEGATIVE_TTL, 0.1, 1.0);
+        customer = new Customer();
+        customer.setId("1");
+    }
+
+    private CustomerCacheEntry freshEntry() {
+        return new CustomerCacheEntry(customer, Long.MAX_VALUE, 0L);
+    }
+
+    @Test
+    @DisplayName("get devuelve el acierto local sin consultar Redis")
+    void getShouldReturnNearCacheHit() {
+        when(nearCache.getIfPresent("1")).thenReturn(customer);
+
+        StepVerifier.create(customerCache.get("1"))
+                .expectNext(customer)
+                .verifyComplete();
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    @Test
+    @DisplayName("get hace un único GET a Redis con clave con espacio de nombres")
+    void getShouldReadRedisOnceWithNamespacedKey() {
+        when(valueOperations.get("customer:1")).thenReturn(Mono.just(freshEntry()));
+
+        StepVerifier.create(customerCache.get("1"))
+                .expectNext(customer)
+                .verifyComplete();
+        verify(valueOperations, times(1)).get("customer:1");
+        verify(nearCache).put(customer);
+    }
+
+    @Test
+    @DisplayName("get devuelve vacío si no está en ningún nivel")
+    void getShouldBeEmptyOnMiss() {
+        when(valueOperations.get("customer:1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(customerCache.get("1"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("getOrLoad carga del origen y cachea cuando no está en Redis")
+    void getOrLoadShouldLoadAndCacheOnMiss() {
+        when(valueOperations.get("customer:1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(customerCache.getOrLoad("1", id -> Mono.just(customer)))
+                .expectNextMatches(result -> "1".equals(result.getId()))
+                .verifyComplete();
+        verify(valueOperations).set(eq("customer:1"), any(CustomerCacheEntry.class),
+                eq(TTL.plus(STALE_TTL)));
+    }
+
+    @Test
+    @DisplayName("getOrLoad coalesce fallos concurrentes en una sola carga")
+    void getOrLoadShouldCoalesceConcurrentMisses() {
+        Sinks.One<Customer> source = Sinks.one();
+        when(valueOperations.get("customer:1")).thenReturn(Mono.empty());
+        AtomicInteger loads = new AtomicInteger();
+
+        Mono<Customer> first = customerCache.getOrLoad("1", id -> {
+            loads.incrementAndGet();
+            return source.asMono();
+        });
+        Mono<Customer> second = customerCache.getOrLoad("1", id -> {
+            loads.incrementAndGet();
+            return source.asMono();
+        });
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> source.tryEmitValue(customer))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertEquals(1, loads.get());
+        verify(valueOperations, times(1)).get("customer:1");
+        verify(valueOperations, times(1))
+                .set(anyString(), any(CustomerCacheEntry.class), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("getOrLoad sirve una entrada vencida y la recarga en segundo plano")
+    void getOrLoadShouldServeStaleAndRefresh() {
+        Customer stale = new Customer();
+        stale.setId("1");
+        stale.setFirstName("Old");
+        customer.setFirstName("New");
+        when(valueOperations.get("customer:1"))
+                .thenReturn(Mono.just(new CustomerCacheEntry(stale, 0L, 0L)));
+
+        StepVerifier.create(customerCache.getOrLoad("1", id -> Mono.just(customer)))
+                .expectNextMatches(result -> "Old".equals(result.getFirstName()))
+                .verifyComplete();
+
+        ArgumentCaptor<CustomerCacheEntry> written =
+                ArgumentCaptor.forClass(CustomerCacheEntry.class);
+        verify(valueOperations).set(eq("customer:1"), written.capture(), any(Duration.class));
+        assertSame(customer, written.getValue().getCustomer());
+        assertTrue(written.getValue().getRefreshAt() > System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("getOrLoad no recarga entradas vigentes")
+    void getOrLoadShouldNotRefreshFreshEntries() {
+        when(valueOperations.get("customer:1")).thenReturn(Mono.just(freshEntry()));
+
+        StepVerifier.create(customerCache.getOrLoad("1", id -> Mono.error(
+                        new IllegalStateException("should not load"))))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(valueOperations, never())
+                .set(anyString(), any(CustomerCacheEntry.class), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("shouldRefresh adelanta la recarga solo cerca de la expiración lógica")
+    void shouldRefreshShouldBeProbabilisticNearExpiry() {
+        long now = System.currentTimeMillis();
+        CustomerCacheEntry farFromExpiry = new CustomerCacheEntry(customer, now + 60_000, 10L);
+        CustomerCacheEntry expired = new CustomerCacheEntry(customer, now - 1, 10L);
+
+        assertFalse(customerCache.shouldRefresh(farFromExpiry, now));
+        assertTrue(customerCache.shouldRefresh(expired, now));
+    }
+
+    @Test
+    @DisplayName("sin staleTtl no hay recargas en segundo plano")
+    void shouldRefreshShouldBeDisabledWithoutStaleTtl() {
+        CustomerCache hardTtlCache = new CustomerCache(redisTemplate, nearCache, idFilter,
+                TTL, Duration.ZERO, NEGATIVE_TTL, 0.1, 1.0);
+
+        assertFalse(hardTtlCache.shouldRefresh(
+                new CustomerCacheEntry(customer, 0L, 0L), System.currentTimeMillis()));
+    }
+
+    @Test
+    @DisplayName("getOrLoad guarda una entrada negativa si el id no existe")
+    void getOrLoadShouldCacheAbsentIds() {
+        when(valueOperations.get("customer:1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(customerCache.getOrLoad("1", id -> Mono.empty()))
+                .verifyComplete();
+
+        ArgumentCaptor<CustomerCacheEntry> written =
+                ArgumentCaptor.forClass(CustomerCacheEntry.class);
+        verify(valueOperations).set(eq("customer:1"), written.capture(), eq(NEGATIVE_TTL));
+        assertTrue(written.getValue().isAbsent());
+    }
+
+    @Test
+    @DisplayName("getOrLoad responde vacío ante una entrada negativa sin consultar el origen")
+    void getOrLoadShouldNotLoadAbsentIds() {
+        when(valueOperations.get("customer:1"))
+                .thenReturn(Mono.just(CustomerCacheEntry.absent(Long.MAX_VALUE)));
+
+        StepVerifier.create(customerCache.getOrLoad("1", id -> Mono.error(
+                        new IllegalStateException("should not load"))))
+                .verifyComplete();
+        verify(nearCache, never()).put(any());
+    }
+
+    @Test
+    @DisplayName("get ignora las entradas negativas")
+    void getShouldBeEmptyOnAbsentEntry() {
+        when(valueOperations.get("customer:1"))
+                .thenReturn(Mono.just(CustomerCacheEntry.absent(Long.MAX_VALUE)));
+
+        StepVerifier.create(customerCache.get("1"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("getOrLoad no consulta el filtro: un id inexistente queda en la cache negativa")
+    void getOrLoadShouldCacheAbsentIdsRegardlessOfFilter() {
+        when(valueOperations.get("customer:unknown")).thenReturn(Mono.empty());
+
+        StepVerifier.create(customerCache.getOrLoad("unknown", id -> Mono.empty()))
+                .verifyComplete();
+        verify(valueOperations).set(eq("customer:unknown"),
+                argThat(CustomerCacheEntry::isAbsent), eq(NEGATIVE_TTL));
+        verify(idFilter, never()).mightContain("unknown");
+    }
+
+    @Test
+    @DisplayName("put guarda con TTL + ventana stale y actualiza la cache local")
+    void putShouldStoreWithTtl() {
+        StepVerifier.create(customerCache.put(customer))
+                .expectNext(customer)
+                .verifyComplete();
+        verify(valueOperations).set(eq("customer:1"), any(CustomerCacheEntry.class),
+                eq(TTL.plus(STALE_TTL)));
+        verify(nearCache).put(customer);
+        verify(idFilter).add("1");
+    }
+
+    @Test
+    @DisplayName("evict elimina en ambos niveles")
+    void evictShouldRemoveFromBothLevels() {
+        when(valueOperations.delete("customer:1")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(customerCache.evict("1"))
+                .verifyComplete();
+        verify(nearCache).evict("1");
+    }
+
+    @Test
+    @DisplayName("put propaga errores de Redis")
+    void putShouldPropagateRedisError() {
+        when(valueOperations.set(eq("customer:1"), any(CustomerCacheEntry.class),
+                any(Duration.class)))
+                .thenReturn(Mono.error(new RuntimeException("Redis error")));
+
+        StepVerifier.create(customerCache.put(customer))
+                .expectErrorMatches(e -> e.getMessage().equals("Redis error"))
+                .verify();
+        verify(nearCache, never()).put(any());
+    }
+}
@@ -0,0 +1,77 @@
+package com.customer.business.cache;
+
+import com.customer.business.model.entity.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerIdFilterTest {
+
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(ReactiveMongoTemplate.class);
+        when(mongoTemplate.find(any(Query.class), eq(Customer.class)))
+                .thenReturn(Flux.just(customer("a1"), customer("a2")));
+    }
+
+    private Customer customer(String id) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        return customer;
+    }
+
+    @Test
+    @DisplayName("desactivado no consulta MongoDB y no descarta ningún id")
+    void disabledShouldAcceptEverything() {
+        CustomerIdFilter filter = new CustomerIdFilter(mongoTemplate, false, 1000, 0.01);
+
+        filter.load();
+
+        assertTrue(filter.mightContain("unknown"));
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Customer.class));
+    }
+
+    @Test
+    @DisplayName("antes de cargar no descarta ningún id")
+    void shouldAcceptEverythingUntilLoaded() {
+        CustomerIdFilter filter = new CustomerIdFilter(mongoTemplate, true, 1000, 0.01);
+
+        assertFalse(filter.isReady());
+        assertTrue(filter.mightContain("unknown"));
+    }
+
+    @Test
+    @DisplayName("tras cargar conoce los ids existentes y descarta casi todos los demás")
+    void shouldRejectUnknownIdsAfterLoad() {
+        CustomerIdFilter filter = new CustomerIdFilter(mongoTemplate, true, 1000, 0.01);
+
+        filter.load();
+        filter.add("b1");
+
+        assertTrue(filter.isReady());
+        assertTrue(filter.mightContain("a1"));
+        assertTrue(filter.mightContain("a2"));
+        assertTrue(filter.mightContain("b1"));
+        int falsePositives = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (filter.mightContain("missing-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 50);
+    }
+}
@@ -0,0 +1,70 @@
+package com.customer.business.cache;
+
+import com.customer.business.model.entity.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CustomerNearCacheTest {
+
+    private CustomerNearCache nearCache;
+
+    @BeforeEach
+    void setUp() {
+        nearCache = new CustomerNearCache(100, Duration.ofMinutes(1));
+    }
+
+    private Customer customer(String id) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setFirstName("John");
+        return customer;
+    }
+
+    @Test
+    @DisplayName("put y getIfPresent devuelven una copia del cliente")
+    void putAndGetShouldReturnCopy() {
+        Customer customer = customer("1");
+        nearCache.put(customer);
+
+        Customer cached = nearCache.getIfPresent("1");
+
+        assertNotSame(customer, cached);
+        assertEquals("John", cached.getFirstName());
+    }
+
+    @Test
+    @DisplayName("modificar la copia devuelta no altera la cache")
+    void mutatingReturnedCopyShouldNotAffectCache() {
+        nearCache.put(customer("1"));
+        nearCache.getIfPresent("1").setFirstName("Changed");
+
+        assertEquals("John", nearCache.getIfPresent("1").getFirstName());
+    }
+
+    @Test
+    @DisplayName("evict elimina la entrada")
+    void evictShouldRemoveEntry() {
+        nearCache.put(customer("1"));
+        nearCache.evict("1");
+
+        assertNull(nearCache.getIfPresent("1"));
+    }
+
+    @Test
+    @DisplayName("ignora clientes sin id y claves nulas")
+    void shouldIgnoreNullValues() {
+        nearCache.put(customer(null));
+        nearCache.put(null);
+        nearCache.evict(null);
+
+        assertNull(nearCache.getIfPresent(null));
+        assertEquals(0, nearCache.size());
+    }
+}
@@ -0,0 +1,87 @@
+package com.customer.business.cache;
+
+import com.customer.business.model.dto.ProductDTO;
+import com.customer.business.util.enums.ProductSubType;
+import com.customer.business.util.enums.ProductType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductCountsCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(2);
+
+    @Mock
+    private ReactiveRedisTemplate<String, ProductCounts> redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, ProductCounts> valueOperations;
+
+    private ProductCountsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        cache = new ProductCountsCache(redisTemplate, TTL);
+    }
+
+    @Test
+    @DisplayName("cuenta los productos por tipo/subtipo sin distinguir mayúsculas")
+    void productCountsShouldCountByTypeAndSubType() {
+        ProductCounts counts = ProductCounts.of(Arrays.asList(
+                new ProductDTO("p1", "c1", "LIABILITY", "ACCOUNT", "SAVINGS"),
+                new ProductDTO("p2", "c1", "LIABILITY", "account", "savings"),
+                new ProductDTO("p3", "c1", "ASSET", "LOAN", "PERSONAL_LOAN")));
+
+        assertEquals(2L, counts.count(ProductType.ACCOUNT, ProductSubType.SAVINGS));
+        assertEquals(1L, counts.count(ProductType.LOAN, ProductSubType.PERSONAL_LOAN));
+        assertEquals(0L, counts.count(ProductType.ACCOUNT, ProductSubType.CURRENT));
+        assertFalse(counts.isCreditCard());
+        assertTrue(ProductCounts.of(Arrays.asList(
+                new ProductDTO("p4", "c1", "ASSET", "CREDIT_CARD", "CREDIT_CARD")))
+                .isCreditCard());
+    }
+
+    @Test
+    @DisplayName("put guarda el resumen con el TTL configurado")
+    void putShouldStoreWithTtl() {
+        ProductCounts counts = new ProductCounts();
+        when(valueOperations.set(anyString(), any(ProductCounts.class), any(Duration.class)))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(cache.put("c1", counts)).verifyComplete();
+
+        verify(valueOperations).set(eq(ProductCountsCache.KEY_PREFIX + "c1"), eq(counts), eq(TTL));
+    }
+
+    @Test
+    @DisplayName("los fallos de Redis se tratan como fallo de cache")
+    void redisErrorsShouldBeIgnored() {
+        when(valueOperations.get(anyString()))
+                .thenReturn(Mono.error(new IllegalStateException("redis down")));
+        when(valueOperations.delete(anyString()))
+                .thenReturn(Mono.error(new IllegalStateException("redis down")));
+
+        StepVerifier.create(cache.get("c1")).verifyComplete();
+        StepVerifier.create(cache.evict("c1")).verifyComplete();
+    }
+}
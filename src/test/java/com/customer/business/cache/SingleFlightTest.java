@@ -0,0 +1,68 @@
+package com.customer.business.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("las llamadas concurrentes con la misma clave comparten una carga")
+    void concurrentCallsShouldShareOneLoad() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        Sinks.One<String> source = Sinks.one();
+
+        Mono<String> first = singleFlight.execute("1", () -> {
+            loads.incrementAndGet();
+            return source.asMono();
+        });
+        Mono<String> second = singleFlight.execute("1", () -> {
+            loads.incrementAndGet();
+            return source.asMono();
+        });
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> source.tryEmitValue("value"))
+                .assertNext(tuple -> {
+                    assertEquals("value", tuple.getT1());
+                    assertEquals("value", tuple.getT2());
+                })
+                .verifyComplete();
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    @DisplayName("tras terminar, la siguiente llamada vuelve a cargar")
+    void completedLoadShouldBeReleased() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(singleFlight.execute("1",
+                            () -> Mono.fromSupplier(() -> "v" + loads.incrementAndGet())))
+                    .expectNextCount(1)
+                    .verifyComplete();
+        }
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("los errores se comparten y liberan la clave")
+    void errorsShouldBeSharedAndReleased() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+        StepVerifier.create(singleFlight.execute("1",
+                        () -> Mono.error(new IllegalStateException("boom"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+}
@@ -0,0 +1,136 @@
+package com.customer.business.cache.codec;
+
+import com.customer.business.cache.CustomerCacheEntry;
+import com.customer.business.model.entity.Customer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerBinaryCodecTest {
+
+    private Customer customer(String id) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setCustomerType("PERSONAL");
+        customer.setProfile("VIP");
+        customer.setFirstName("María");
+        customer.setLastName("García");
+        customer.setDni("07234567");
+        customer.setAddress("Jr. Los Álamos 45, Cusco");
+        customer.setPhone("+51 944123456");
+        customer.setEmail("maria.garcia@example.com");
+        return customer;
+    }
+
+    private void assertSameCustomer(Customer expected, Customer actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getCustomerType(), actual.getCustomerType());
+        assertEquals(expected.getProfile(), actual.getProfile());
+        assertEquals(expected.getFirstName(), actual.getFirstName());
+        assertEquals(expected.getLastName(), actual.getLastName());
+        assertEquals(expected.getBusinessName(), actual.getBusinessName());
+        assertEquals(expected.getDni(), actual.getDni());
+        assertEquals(expected.getRuc(), actual.getRuc());
+        assertEquals(expected.getAddress(), actual.getAddress());
+        assertEquals(expected.getPhone(), actual.getPhone());
+        assertEquals(expected.getEmail(), actual.getEmail());
+    }
+
+    @Test
+    @DisplayName("codifica y decodifica un cliente con id ObjectId")
+    void shouldRoundTripObjectIdCustomer() {
+        CustomerBinaryCodec codec = new CustomerBinaryCodec(-1);
+        Customer customer = customer("65f1a2b3c4d5e6f708192a3b");
+
+        byte[] bytes = codec.encode(new CustomerCacheEntry(customer, 1_700_000_000_000L, 42L));
+
+        assertTrue(CustomerBinaryCodec.isBinary(bytes));
+        CustomerCacheEntry decoded = codec.decode(bytes);
+        assertSameCustomer(customer, decoded.getCustomer());
+        assertNull(decoded.getCustomer().getBusinessName());
+        assertEquals(1_700_000_000_000L, decoded.getRefreshAt());
+        assertEquals(42L, decoded.getLoadMillis());
+    }
+
+    @Test
+    @DisplayName("conserva la versión del documento")
+    void shouldRoundTripDocumentVersion() {
+        CustomerBinaryCodec codec = new CustomerBinaryCodec(-1);
+        Customer customer = customer("65f1a2b3c4d5e6f708192a3b");
+        customer.setVersion(7L);
+
+        byte[] bytes = codec.encode(new CustomerCacheEntry(customer, 1_700_000_000_000L, 42L));
+
+        assertEquals(CustomerBinaryCodec.VERSION, bytes[1]);
+        Customer decoded = codec.decode(bytes).getCustomer();
+        assertSameCustomer(customer, decoded);
+        assertEquals(7L, decoded.getVersion());
+        assertNull(codec.decode(codec.encode(new CustomerCacheEntry(
+                customer("65f1a2b3c4d5e6f708192a3b"), 0L, 0L))).getCustomer().getVersion());
+    }
+
+    @Test
+    @DisplayName("codifica entradas negativas sin cliente")
+    void shouldRoundTripAbsentEntry() {
+        CustomerBinaryCodec codec = new CustomerBinaryCodec(-1);
+
+        byte[] bytes = codec.encode(CustomerCacheEntry.absent(1_700_000_000_000L));
+
+        assertEquals(CustomerBinaryCodec.FLAG_ABSENT, bytes[2]);
+        CustomerCacheEntry decoded = codec.decode(bytes);
+        assertTrue(decoded.isAbsent());
+        assertEquals(1_700_000_000_000L, decoded.getRefreshAt());
+    }
+
+    @Test
+    @DisplayName("conserva ids que no son ObjectId y valores no catalogados")
+    void shouldRoundTripLiteralValues() {
+        CustomerBinaryCodec codec = new CustomerBinaryCodec(-1);
+        Customer customer = customer("CUSTOMER-1");
+        customer.setCustomerType("EMPRESA");
+
+        assertSameCustomer(customer,
+                codec.decode(codec.encode(new CustomerCacheEntry(customer, 0L, 0L))).getCustomer());
+    }
+
+    @Test
+    @DisplayName("comprime por encima del umbral")
+    void shouldCompressAboveThreshold() {
+        CustomerBinaryCodec codec = new CustomerBinaryCodec(16);
+        Customer customer = customer("65f1a2b3c4d5e6f708192a3b");
+        customer.setAddress(new String(new char[400]).replace('\0', 'a'));
+
+        byte[] bytes = codec.encode(new CustomerCacheEntry(customer, 0L, 0L));
+
+        assertEquals(CustomerBinaryCodec.FLAG_COMPRESSED, bytes[2]);
+        assertTrue(bytes.length < 400);
+        assertSameCustomer(customer, codec.decode(bytes).getCustomer());
+    }
+
+    @Test
+    @DisplayName("es más compacto que el JSON equivalente")
+    void shouldBeSmallerThanJson() {
+        CustomerCacheEntry entry = new CustomerCacheEntry(
+                customer("65f1a2b3c4d5e6f708192a3b"), System.currentTimeMillis(), 12L);
+        byte[] json = new CustomerRedisSerializer(RedisValueFormat.JSON, false,
+                new CustomerBinaryCodec(-1)).serialize(entry);
+
+        assertTrue(new CustomerBinaryCodec(-1).encode(entry).length < json.length / 2);
+    }
+
+    @Test
+    @DisplayName("rechaza payloads que no son binarios o de versión desconocida")
+    void shouldRejectInvalidPayloads() {
+        CustomerBinaryCodec codec = new CustomerBinaryCodec(-1);
+        byte[] unknownVersion = {CustomerBinaryCodec.MAGIC, 99, 0};
+
+        assertFalse(CustomerBinaryCodec.isBinary("{}".getBytes()));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode("{}".getBytes()));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(unknownVersion));
+    }
+}
@@ -0,0 +1,99 @@
+package com.customer.business.cache.codec;
+
+import com.customer.business.cache.CustomerCacheEntry;
+import com.customer.business.model.entity.Customer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerRedisSerializerTest {
+
+    private final CustomerBinaryCodec codec = new CustomerBinaryCodec(512);
+
+    private Customer customer() {
+        Customer customer = new Customer();
+        customer.setId("65f1a2b3c4d5e6f708192a3b");
+        customer.setFirstName("John");
+        return customer;
+    }
+
+    private CustomerCacheEntry entry() {
+        return new CustomerCacheEntry(customer(), 1_700_000_000_000L, 25L);
+    }
+
+    @Test
+    @DisplayName("JSON escribe y lee JSON")
+    void jsonModeShouldRoundTrip() {
+        CustomerRedisSerializer serializer =
+                new CustomerRedisSerializer(RedisValueFormat.JSON, false, codec);
+
+        byte[] bytes = serializer.serialize(entry());
+
+        assertEquals('{', bytes[0]);
+        assertEquals("John", serializer.deserialize(bytes).getCustomer().getFirstName());
+    }
+
+    @Test
+    @DisplayName("JSON conserva la expiración lógica")
+    void jsonModeShouldKeepRefreshMetadata() {
+        CustomerRedisSerializer serializer =
+                new CustomerRedisSerializer(RedisValueFormat.JSON, false, codec);
+
+        CustomerCacheEntry decoded = serializer.deserialize(serializer.serialize(entry()));
+
+        assertEquals(1_700_000_000_000L, decoded.getRefreshAt());
+        assertEquals(25L, decoded.getLoadMillis());
+    }
+
+    @Test
+    @DisplayName("BINARY escribe con la cabecera binaria")
+    void binaryModeShouldWriteBinary() {
+        CustomerRedisSerializer serializer =
+                new CustomerRedisSerializer(RedisValueFormat.BINARY, false, codec);
+
+        byte[] bytes = serializer.serialize(entry());
+
+        assertTrue(CustomerBinaryCodec.isBinary(bytes));
+        assertEquals("John", serializer.deserialize(bytes).getCustomer().getFirstName());
+    }
+
+    @Test
+    @DisplayName("sin migración rechaza el formato que no escribe")
+    void shouldRejectOtherFormatWithoutMigration() {
+        byte[] json = new CustomerRedisSerializer(RedisValueFormat.JSON, false, codec)
+                .serialize(entry());
+        CustomerRedisSerializer binaryOnly =
+                new CustomerRedisSerializer(RedisValueFormat.BINARY, false, codec);
+
+        assertThrows(SerializationException.class, () -> binaryOnly.deserialize(json));
+    }
+
+    @Test
+    @DisplayName("en migración lee JSON y binario")
+    void migrationModeShouldReadBothFormats() {
+        byte[] json = new CustomerRedisSerializer(RedisValueFormat.JSON, false, codec)
+                .serialize(entry());
+        byte[] binary = codec.encode(entry());
+        CustomerRedisSerializer migration =
+                new CustomerRedisSerializer(RedisValueFormat.JSON, true, codec);
+
+        assertEquals("John", migration.deserialize(json).getCustomer().getFirstName());
+        assertEquals("John", migration.deserialize(binary).getCustomer().getFirstName());
+    }
+
+    @Test
+    @DisplayName("valores nulos o vacíos")
+    void shouldHandleEmptyValues() {
+        CustomerRedisSerializer serializer =
+                new CustomerRedisSerializer(RedisValueFormat.BINARY, false, codec);
+
+        assertEquals(0, serializer.serialize(null).length);
+        assertNull(serializer.deserialize(new byte[0]));
+        assertNull(serializer.deserialize(null));
+    }
+}
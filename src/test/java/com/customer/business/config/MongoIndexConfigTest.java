@@ -0,0 +1,86 @@
+package com.customer.business.config;
+
+import com.customer.business.model.entity.Customer;
+import com.customer.business.model.entity.OutboxEvent;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MongoIndexConfigTest {
+
+    private ReactiveIndexOperations customerIndexes;
+
+    private ReactiveIndexOperations outboxIndexes;
+
+    private MongoIndexConfig config;
+
+    @BeforeEach
+    void setUp() {
+        ReactiveMongoTemplate mongoTemplate = mock(ReactiveMongoTemplate.class);
+        customerIndexes = mock(ReactiveIndexOperations.class);
+        outboxIndexes = mock(ReactiveIndexOperations.class);
+        when(mongoTemplate.indexOps(Customer.class)).thenReturn(customerIndexes);
+        when(mongoTemplate.indexOps(OutboxEvent.class)).thenReturn(outboxIndexes);
+        when(customerIndexes.ensureIndex(any())).thenAnswer(invocation -> Mono.just(
+                invocation.<IndexDefinition>getArgument(0).getIndexOptions().getString("name")));
+        when(outboxIndexes.ensureIndex(any())).thenReturn(
+                Mono.just(MongoIndexConfig.OUTBOX_INDEX));
+        config = new MongoIndexConfig(mongoTemplate, Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("dni y ruc son únicos y parciales sobre los documentos con texto no vacío")
+    void uniqueIndexesShouldBePartial() {
+        Index dni = MongoIndexConfig.uniqueWhenPresent("dni", MongoIndexConfig.DNI_INDEX);
+
+        assertEquals(new Document("dni", 1), dni.getIndexKeys());
+        Document options = dni.getIndexOptions();
+        assertEquals(MongoIndexConfig.DNI_INDEX, options.getString("name"));
+        assertEquals(Boolean.TRUE, options.get("unique"));
+        assertEquals(new Document("dni", new Document("$gt", "")),
+                options.get("partialFilterExpression"));
+    }
+
+    @Test
+    @DisplayName("crea los índices de clientes y del outbox al arrancar")
+    void shouldEnsureAllIndexes() {
+        config.afterSingletonsInstantiated();
+
+        ArgumentCaptor<IndexDefinition> captor = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(customerIndexes, times(2)).ensureIndex(captor.capture());
+        List<IndexDefinition> indexes = captor.getAllValues();
+        assertEquals(MongoIndexConfig.DNI_INDEX, indexes.get(0).getIndexOptions().get("name"));
+        assertEquals(MongoIndexConfig.RUC_INDEX, indexes.get(1).getIndexOptions().get("name"));
+        assertEquals(new Document("ruc", 1), indexes.get(1).getIndexKeys());
+        verify(outboxIndexes).ensureIndex(any());
+        assertEquals(new Document("createdAt", 1).append("_id", 1),
+                MongoIndexConfig.outboxOrder().getIndexKeys());
+    }
+
+    @Test
+    @DisplayName("si no se puede crear un índice único el arranque falla")
+    void shouldFailStartupWhenIndexCannotBeCreated() {
+        when(customerIndexes.ensureIndex(any())).thenReturn(
+                Mono.error(new IllegalStateException("E11000 duplicate key")));
+
+        assertThrows(IllegalStateException.class, config::afterSingletonsInstantiated);
+    }
+}
@@ -0,0 +1,60 @@
+package com.customer.business.event.consumer;
+
+import com.customer.business.cache.CustomerIdFilter;
+import com.customer.business.cache.CustomerNearCache;
+import com.customer.business.event.dto.CustomerEvent;
+import com.customer.business.model.entity.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class CustomerCacheInvalidationListenerTest {
+
+    private CustomerNearCache nearCache;
+
+    private CustomerIdFilter idFilter;
+
+    private CustomerCacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        nearCache = mock(CustomerNearCache.class);
+        idFilter = mock(CustomerIdFilter.class);
+        listener = new CustomerCacheInvalidationListener(nearCache, idFilter);
+    }
+
+    private CustomerEvent event(String type) {
+        Customer customer = new Customer();
+        customer.setId("1");
+        return new CustomerEvent(type, customer, LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("UPDATED invalida la cache local")
+    void updatedShouldEvict() {
+        listener.onCustomerEvent(event("UPDATED"));
+        verify(nearCache).evict("1");
+    }
+
+    @Test
+    @DisplayName("DELETED invalida la cache local")
+    void deletedShouldEvict() {
+        listener.onCustomerEvent(event("DELETED"));
+        verify(nearCache).evict("1");
+    }
+
+    @Test
+    @DisplayName("CREATED no invalida la cache local y registra el id")
+    void createdShouldNotEvict() {
+        listener.onCustomerEvent(event("CREATED"));
+        verify(nearCache, never()).evict(any());
+        verify(idFilter).add("1");
+    }
+}
@@ -2,25 +2,154 @@ package com.customer.business.event.consumer;
 
 import com.customer.business.event.dto.CustomerEvent;
 import com.customer.business.model.entity.Customer;
+import com.customer.business.service.CustomerSummaryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class CustomerEventConsumerTest {
 
-    @Test
-    @DisplayName("consumeCustomerEvent ejecuta sin errores")
-    void consumeCustomerEventShouldLogEvent() {
-        CustomerEventConsumer consumer = new CustomerEventConsumer();
+    private MeterRegistry meterRegistry;
+
+    private CustomerSummaryService customerSummaryService;
+
+    private ProcessedEventStore processedEventStore;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        customerSummaryService = mock(CustomerSummaryService.class);
+        when(customerSummaryService.apply(any(CustomerEvent.class))).thenReturn(Mono.empty());
+        processedEventStore = mock(ProcessedEventStore.class);
+        when(processedEventStore.tryAcquire(any())).thenReturn(Mono.just(Boolean.TRUE));
+        when(processedEventStore.release(any())).thenReturn(Mono.empty());
+        when(processedEventStore.completed(any())).thenReturn(Mono.empty());
+    }
+
+    private ConsumerRecord<String, CustomerEvent> record(String key, String type, long offset) {
         Customer customer = new Customer();
-        CustomerEvent event = new CustomerEvent(
-            "CREATED",
-            customer,
-            LocalDateTime.now()
-        );
-        consumer.consumeCustomerEvent(event);
-        // No assertions: solo se busca cobertura de ejecución
+        customer.setId(key);
+        customer.setFirstName(type + offset);
+        return new ConsumerRecord<>("customer-events", 0, offset, key,
+                new CustomerEvent(type, customer, LocalDateTime.now()));
     }
-}
 
+    @Test
+    @DisplayName("consumeCustomerEvents actualiza la vista y las métricas")
+    void consumeCustomerEventsShouldUpdateSummary() {
+        CustomerEventConsumer consumer = new CustomerEventConsumer(
+                customerSummaryService, processedEventStore, meterRegistry, 4,
+                Duration.ofSeconds(5));
+        consumer.consumeCustomerEvents(Arrays.asList(
+                record("1", "CREATED", 0), record("1", "UPDATED", 1)));
+
+        assertEquals(1.0, meterRegistry.counter("customer.events.consumed",
+                "type", "CREATED").count());
+        assertEquals(1L, meterRegistry.timer("customer.events.batch").count());
+        verify(customerSummaryService, times(2)).apply(any(CustomerEvent.class));
+    }
+
+    @Test
+    @DisplayName("procesa en orden los eventos de un mismo cliente")
+    void processShouldPreserveOrderPerKey() {
+        List<String> handled = Collections.synchronizedList(new ArrayList<>());
+        CustomerEventConsumer consumer = new CustomerEventConsumer(
+                customerSummaryService, processedEventStore, meterRegistry, 4,
+                Duration.ofSeconds(5)) {
+            @Override
+            Mono<Void> handle(CustomerEvent event) {
+                // el primer evento de cada cliente tarda más que los siguientes
+                Duration delay = event.getCustomer().getFirstName().endsWith("0")
+                        || event.getCustomer().getFirstName().endsWith("1")
+                        ? Duration.ofMillis(50) : Duration.ZERO;
+                return Mono.delay(delay)
+                        .doOnNext(tick -> handled.add(
+                                event.getCustomer().getId() + ":"
+                                        + event.getCustomer().getFirstName()))
+                        .then();
+            }
+        };
+
+        consumer.process(Arrays.asList(
+                record("a", "CREATED", 0), record("b", "CREATED", 1),
+                record("a", "UPDATED", 2), record("b", "DELETED", 3))).block();
+
+        assertEquals(Arrays.asList("CREATED0", "UPDATED2"), handled.stream()
+                .filter(entry -> entry.startsWith("a:"))
+                .map(entry -> entry.substring(2))
+                .collect(Collectors.toList()));
+        assertEquals(Arrays.asList("CREATED1", "DELETED3"), handled.stream()
+                .filter(entry -> entry.startsWith("b:"))
+                .map(entry -> entry.substring(2))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("descarta los eventos ya procesados")
+    void processShouldSkipDuplicates() {
+        when(processedEventStore.tryAcquire(any())).thenReturn(Mono.just(Boolean.FALSE));
+        CustomerEventConsumer consumer = new CustomerEventConsumer(
+                customerSummaryService, processedEventStore, meterRegistry, 4,
+                Duration.ofSeconds(5));
+
+        consumer.process(Collections.singletonList(record("1", "UPDATED", 0))).block();
+
+        verify(customerSummaryService, never()).apply(any(CustomerEvent.class));
+        assertEquals(1.0, meterRegistry.counter("customer.events.duplicates").count());
+    }
+
+    @Test
+    @DisplayName("libera el id del evento si su procesamiento falla")
+    void processShouldReleaseFailedEvents() {
+        when(customerSummaryService.apply(any(CustomerEvent.class)))
+                .thenReturn(Mono.error(new IllegalStateException("boom")));
+        CustomerEventConsumer consumer = new CustomerEventConsumer(
+                customerSummaryService, processedEventStore, meterRegistry, 4,
+                Duration.ofSeconds(5));
+        ConsumerRecord<String, CustomerEvent> failing = record("1", "UPDATED", 0);
+
+        assertThrows(IllegalStateException.class,
+                () -> consumer.process(Collections.singletonList(failing)).block());
+
+        verify(processedEventStore).release(failing.value().getEventId());
+        verify(processedEventStore, never()).completed(any());
+    }
+
+    @Test
+    @DisplayName("falla el lote sin liberar la reserva si otro nodo sigue con el evento")
+    void processShouldFailWhenEventIsInProgressElsewhere() {
+        when(processedEventStore.tryAcquire(any())).thenReturn(
+                Mono.error(new ProcessedEventStore.EventInProgressException("e1")));
+        CustomerEventConsumer consumer = new CustomerEventConsumer(
+                customerSummaryService, processedEventStore, meterRegistry, 4,
+                Duration.ofSeconds(5));
+
+        assertThrows(ProcessedEventStore.EventInProgressException.class,
+                () -> consumer.process(Collections.singletonList(record("1", "UPDATED", 0)))
+                        .block());
+
+        verify(customerSummaryService, never()).apply(any(CustomerEvent.class));
+        verify(processedEventStore, never()).release(any());
+    }
+}
@@ -0,0 +1,163 @@
+package com.customer.business.event.consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProcessedEventStoreTest {
+
+    private static final Duration WINDOW = Duration.ofHours(1);
+
+    private static final Duration PROCESSING_TTL = Duration.ofMillis(100);
+
+    private static final Duration RETRY_DELAY = Duration.ofMillis(10);
+
+    private static final Duration BATCH_TIMEOUT = Duration.ofMillis(300);
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, String> valueOperations;
+
+    private ProcessedEventStore store;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        store = new ProcessedEventStore(redisTemplate, WINDOW, PROCESSING_TTL, RETRY_DELAY,
+                BATCH_TIMEOUT, 1000);
+    }
+
+    @Test
+    @DisplayName("reserva en Redis con SET NX y el TTL corto de procesamiento")
+    void tryAcquireShouldClaimInRedis() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(store.tryAcquire("e1"))
+                .expectNext(true)
+                .verifyComplete();
+        verify(valueOperations).setIfAbsent(eq(ProcessedEventStore.KEY_PREFIX + "e1"),
+                eq(ProcessedEventStore.PROCESSING), eq(PROCESSING_TTL));
+    }
+
+    @Test
+    @DisplayName("un id terminado es un duplicado y se recuerda en memoria")
+    void tryAcquireShouldDetectDuplicates() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(Mono.just(false));
+        when(valueOperations.get(anyString())).thenReturn(Mono.just(ProcessedEventStore.DONE));
+
+        StepVerifier.create(store.tryAcquire("e1"))
+                .expectNext(false)
+                .verifyComplete();
+        StepVerifier.create(store.tryAcquire("e1"))
+                .expectNext(false)
+                .verifyComplete();
+        verify(valueOperations, times(1))
+                .setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("si el nodo que lo reservó cae, la reentrega se procesa al caducar la reserva")
+    void redeliveryAfterCrashShouldBeProcessed() {
+        // el nodo que cae reserva el evento y no llega a completed ni a release
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(Mono.just(true), Mono.just(false), Mono.just(false),
+                        Mono.just(true));
+        when(valueOperations.get(anyString()))
+                .thenReturn(Mono.just(ProcessedEventStore.PROCESSING), Mono.empty());
+        StepVerifier.create(store.tryAcquire("e1"))
+                .expectNext(true)
+                .verifyComplete();
+
+        ProcessedEventStore otherNode = new ProcessedEventStore(
+                redisTemplate, WINDOW, PROCESSING_TTL, RETRY_DELAY, BATCH_TIMEOUT, 1000);
+        StepVerifier.create(otherNode.tryAcquire("e1"))
+                .expectNext(true)
+                .verifyComplete();
+        verify(valueOperations, times(4))
+                .setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("falla antes del batch-timeout si otro nodo mantiene la reserva")
+    void tryAcquireShouldGiveUpBeforeBatchTimeout() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(Mono.just(false));
+        when(valueOperations.get(anyString()))
+                .thenReturn(Mono.just(ProcessedEventStore.PROCESSING));
+
+        StepVerifier.create(store.tryAcquire("e1"))
+                .expectError(ProcessedEventStore.EventInProgressException.class)
+                .verify(BATCH_TIMEOUT);
+    }
+
+    @Test
+    @DisplayName("completed marca el evento como terminado en Redis con el TTL de la ventana")
+    void completedShouldMarkDone() {
+        when(valueOperations.set(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(store.completed("e1"))
+                .verifyComplete();
+        verify(valueOperations).set(ProcessedEventStore.KEY_PREFIX + "e1",
+                ProcessedEventStore.DONE, WINDOW);
+    }
+
+    @Test
+    @DisplayName("un evento completado en este nodo se descarta sin consultar Redis")
+    void completedEventsShouldBeSkippedLocally() {
+        when(valueOperations.set(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(Mono.just(true));
+        store.completed("e1").block();
+
+        StepVerifier.create(store.tryAcquire("e1"))
+                .expectNext(false)
+                .verifyComplete();
+        verify(valueOperations, never())
+                .setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("sin id o con Redis caído el evento se procesa")
+    void tryAcquireShouldFailOpen() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(Mono.error(new IllegalStateException("redis down")));
+
+        StepVerifier.create(store.tryAcquire(null))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(store.tryAcquire("e1"))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("release borra la reserva de Redis")
+    void releaseShouldDeleteClaim() {
+        when(redisTemplate.delete(anyString())).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(store.release("e1"))
+                .verifyComplete();
+        verify(redisTemplate).delete(ProcessedEventStore.KEY_PREFIX + "e1");
+    }
+}
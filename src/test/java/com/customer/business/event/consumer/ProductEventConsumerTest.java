@@ -0,0 +1,46 @@
+package com.customer.business.event.consumer;
+
+import com.customer.business.cache.ProductCountsCache;
+import com.customer.business.event.dto.ProductEvent;
+import com.customer.business.model.dto.ProductDTO;
+import com.customer.business.service.CustomerSummaryService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductEventConsumerTest {
+
+    private ConsumerRecord<String, ProductEvent> record(String productId, long offset) {
+        ProductDTO product = new ProductDTO(productId, "c1", "LIABILITY", "ACCOUNT", "SAVINGS");
+        return new ConsumerRecord<>("product-events", 0, offset, productId,
+                new ProductEvent("CREATED", product, LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("aplica cada evento de producto a la vista e ignora los vacíos")
+    void consumeProductEventsShouldApplyEvents() {
+        CustomerSummaryService customerSummaryService = mock(CustomerSummaryService.class);
+        when(customerSummaryService.apply(any(ProductEvent.class))).thenReturn(Mono.empty());
+        ProductCountsCache productCountsCache = mock(ProductCountsCache.class);
+        when(productCountsCache.evict("c1")).thenReturn(Mono.empty());
+        ProductEventConsumer consumer = new ProductEventConsumer(
+                customerSummaryService, productCountsCache, 4, Duration.ofSeconds(5));
+
+        consumer.consumeProductEvents(Arrays.asList(record("p1", 0), record("p2", 1),
+                new ConsumerRecord<>("product-events", 0, 2, "p3", null)));
+
+        verify(customerSummaryService, times(2)).apply(any(ProductEvent.class));
+        verify(productCountsCache).evict("c1");
+    }
+}
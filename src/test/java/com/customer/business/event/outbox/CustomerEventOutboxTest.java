@@ -0,0 +1,104 @@
+package com.customer.business.event.outbox;
+
+import com.customer.business.model.entity.Customer;
+import com.customer.business.model.entity.OutboxEvent;
+import com.customer.business.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerEventOutboxTest {
+
+    private OutboxEventRepository outboxRepository;
+
+    private TransactionalOperator transactionalOperator;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(OutboxEventRepository.class);
+        transactionalOperator = mock(TransactionalOperator.class);
+        when(outboxRepository.save(any(OutboxEvent.class))).thenAnswer(invocation ->
+                Mono.just(invocation.getArgument(0)));
+    }
+
+    private Customer customer() {
+        Customer customer = new Customer();
+        customer.setId("c1");
+        return customer;
+    }
+
+    @Test
+    @DisplayName("guarda el evento tras el cambio y avisa al relay")
+    void writeShouldStoreEventAndSignal() {
+        CustomerEventOutbox outbox =
+                new CustomerEventOutbox(outboxRepository, transactionalOperator, false);
+
+        StepVerifier.create(outbox.appended().next())
+                .then(() -> outbox.write("CREATED", Mono.just(customer())).subscribe())
+                .expectNext(Boolean.TRUE)
+                .verifyComplete();
+
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepository).save(captor.capture());
+        assertEquals("c1", captor.getValue().getKey());
+        assertEquals("CREATED", captor.getValue().getEvent().getEventType());
+        verify(transactionalOperator, never()).transactional(any(Mono.class));
+    }
+
+    @Test
+    @DisplayName("en modo transaccional envuelve el cambio y el evento en una transacción")
+    void writeShouldUseTransactionWhenEnabled() {
+        when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        CustomerEventOutbox outbox =
+                new CustomerEventOutbox(outboxRepository, transactionalOperator, true);
+
+        StepVerifier.create(outbox.write("UPDATED", Mono.just(customer())))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(transactionalOperator).transactional(any(Mono.class));
+    }
+
+    @Test
+    @DisplayName("un alta masiva y sus eventos van en la misma transacción")
+    void writeAllShouldStoreEventsInsideTransaction() {
+        when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(outboxRepository.saveAll(anyIterable())).thenReturn(Flux.empty());
+        CustomerEventOutbox outbox =
+                new CustomerEventOutbox(outboxRepository, transactionalOperator, true);
+
+        StepVerifier.create(outbox.writeAll("CREATED", Flux.just(customer())))
+                .expectNextMatches(customers -> customers.size() == 1)
+                .verifyComplete();
+        verify(transactionalOperator).transactional(any(Mono.class));
+        verify(outboxRepository).saveAll(anyIterable());
+    }
+
+    @Test
+    @DisplayName("sin clientes no escribe nada")
+    void writeAllShouldSkipEmptyChange() {
+        CustomerEventOutbox outbox =
+                new CustomerEventOutbox(outboxRepository, transactionalOperator, false);
+
+        StepVerifier.create(outbox.writeAll("CREATED", Flux.empty()))
+                .expectNextMatches(List::isEmpty)
+                .verifyComplete();
+        verify(outboxRepository, never()).saveAll(anyIterable());
+    }
+}
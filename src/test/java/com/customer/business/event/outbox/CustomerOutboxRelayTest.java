@@ -0,0 +1,140 @@
+package com.customer.business.event.outbox;
+
+import com.customer.business.event.dto.CustomerEvent;
+import com.customer.business.event.producer.CustomerEventPublisher;
+import com.customer.business.model.entity.Customer;
+import com.customer.business.model.entity.OutboxEvent;
+import com.customer.business.repository.OutboxEventRepository;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerOutboxRelayTest {
+
+    private OutboxEventRepository outboxRepository;
+
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private CustomerEventPublisher eventPublisher;
+
+    private CustomerOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(OutboxEventRepository.class);
+        mongoTemplate = mock(ReactiveMongoTemplate.class);
+        eventPublisher = mock(CustomerEventPublisher.class);
+        CustomerEventOutbox outbox = mock(CustomerEventOutbox.class);
+        when(outbox.appended()).thenReturn(Flux.never());
+        when(mongoTemplate.upsert(any(Query.class), any(UpdateDefinition.class), anyString()))
+                .thenReturn(Mono.empty());
+        when(outboxRepository.deleteAllById(anyIterable())).thenReturn(Mono.empty());
+        relay = new CustomerOutboxRelay(outboxRepository, mongoTemplate, eventPublisher, outbox,
+                10, Duration.ofSeconds(1), Duration.ofSeconds(30));
+    }
+
+    private OutboxEvent event(String id, String key) {
+        Customer customer = new Customer();
+        customer.setId(key);
+        return new OutboxEvent(id, key,
+                new CustomerEvent("UPDATED", customer, LocalDateTime.now()), Instant.now());
+    }
+
+    /**
+     * Simula el sender: confirma todos los registros salvo los de {@code failedIds}.
+     */
+    private void sendFailing(Set<String> failedIds) {
+        when(eventPublisher.publishAll(any())).thenAnswer(invocation -> {
+            Flux<SenderRecord<String, CustomerEvent, String>> records = invocation.getArgument(0);
+            return records.map(record -> result(record.correlationMetadata(),
+                    failedIds.contains(record.correlationMetadata())));
+        });
+    }
+
+    private SenderResult<String> result(String id, boolean failed) {
+        return new SenderResult<String>() {
+            @Override
+            public RecordMetadata recordMetadata() {
+                return null;
+            }
+
+            @Override
+            public Exception exception() {
+                return failed ? new IllegalStateException("broker down") : null;
+            }
+
+            @Override
+            public String correlationMetadata() {
+                return id;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("no borra los eventos posteriores a un fallo de la misma clave")
+    void publishShouldKeepEventsAfterFailureOfSameKey() {
+        OutboxEvent a1 = event("e1", "a");
+        OutboxEvent b1 = event("e2", "b");
+        OutboxEvent a2 = event("e3", "a");
+        sendFailing(Set.of("e1"));
+
+        StepVerifier.create(relay.publish(Arrays.asList(a1, b1, a2)))
+                .assertNext(acked -> assertEquals(List.of("e2"), acked.stream()
+                        .map(OutboxEvent::getId)
+                        .collect(Collectors.toList())))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("publica y borra los eventos pendientes")
+    void drainShouldPublishAndDelete() {
+        when(outboxRepository.findAllBy(any(Pageable.class)))
+                .thenReturn(Flux.just(event("e1", "a"), event("e2", "b")));
+        sendFailing(Set.of());
+
+        StepVerifier.create(relay.drain())
+                .expectNext(2L)
+                .verifyComplete();
+        verify(outboxRepository).deleteAllById(List.of("e1", "e2"));
+    }
+
+    @Test
+    @DisplayName("no publica si otro nodo tiene la concesión")
+    void drainShouldSkipWithoutLease() {
+        when(mongoTemplate.upsert(any(Query.class), any(UpdateDefinition.class), anyString()))
+                .thenReturn(Mono.error(new DuplicateKeyException("E11000")));
+
+        StepVerifier.create(relay.drain())
+                .expectNext(0L)
+                .verifyComplete();
+        verify(outboxRepository, never()).findAllBy(any(Pageable.class));
+    }
+}
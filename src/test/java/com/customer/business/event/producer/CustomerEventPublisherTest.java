@@ -0,0 +1,103 @@
+package com.customer.business.event.producer;
+
+import com.customer.business.event.dto.CustomerEvent;
+import com.customer.business.model.entity.Customer;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CustomerEventPublisherTest {
+
+    private KafkaSender<String, CustomerEvent> kafkaSender;
+
+    private CustomerEventPublisher publisher;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        kafkaSender = mock(KafkaSender.class);
+        publisher = new CustomerEventPublisher(kafkaSender);
+    }
+
+    private CustomerEvent event() {
+        Customer customer = new Customer();
+        customer.setId("c1");
+        return new CustomerEvent("UPDATED", customer, LocalDateTime.now());
+    }
+
+    private void reply(Exception exception) {
+        RecordMetadata metadata = new RecordMetadata(
+                new TopicPartition(CustomerEventPublisher.TOPIC, 0), 0L, 0, 0L, 0, 0);
+        when(kafkaSender.send(any())).thenAnswer(invocation -> {
+            Publisher<SenderRecord<String, CustomerEvent, String>> records =
+                    invocation.getArgument(0);
+            return Flux.from(records).map(record -> {
+                assertEquals("c1", record.key());
+                assertEquals(CustomerEventPublisher.TOPIC, record.topic());
+                return result(metadata, exception, record.correlationMetadata());
+            });
+        });
+    }
+
+    private SenderResult<String> result(RecordMetadata metadata, Exception exception,
+                                        String correlation) {
+        return new SenderResult<String>() {
+            @Override
+            public RecordMetadata recordMetadata() {
+                return metadata;
+            }
+
+            @Override
+            public Exception exception() {
+                return exception;
+            }
+
+            @Override
+            public String correlationMetadata() {
+                return correlation;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("publica con el id del cliente como clave y conserva la correlación")
+    void publishAllShouldEmitResults() {
+        reply(null);
+
+        StepVerifier.create(publisher.publishAll(
+                        Flux.just(CustomerEventPublisher.record(event(), "outbox-1"))))
+                .assertNext(result -> {
+                    assertEquals("outbox-1", result.correlationMetadata());
+                    assertEquals(CustomerEventPublisher.TOPIC, result.recordMetadata().topic());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("informa el error de envío en el resultado del evento")
+    void publishAllShouldReportFailure() {
+        reply(new IllegalStateException("broker down"));
+
+        StepVerifier.create(publisher.publishAll(
+                        Flux.just(CustomerEventPublisher.record(event(), "outbox-1"))))
+                .assertNext(result ->
+                        assertTrue(result.exception() instanceof IllegalStateException))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,153 @@
+package com.customer.business.event.serde;
+
+import com.customer.business.event.dto.CustomerEvent;
+import com.customer.business.model.entity.Customer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerEventCodecTest {
+
+    private static final LocalDateTime TIMESTAMP =
+            LocalDateTime.of(2024, 5, 1, 10, 30, 0, 123456789);
+
+    private Customer customer() {
+        Customer customer = new Customer();
+        customer.setId("65f1a2b3c4d5e6f7a8b9c0d1");
+        customer.setCustomerType("PERSONAL");
+        customer.setProfile("VIP");
+        customer.setFirstName("Ana");
+        customer.setLastName("Pérez");
+        customer.setDni("12345678");
+        customer.setEmail("ana@mail.com");
+        return customer;
+    }
+
+    private Set<String> fields(String... names) {
+        Set<String> fields = new LinkedHashSet<>();
+        Collections.addAll(fields, names);
+        return fields;
+    }
+
+    @Test
+    @DisplayName("un evento completo se lee igual que se escribió")
+    void fullEventShouldRoundTrip() {
+        CustomerEvent event = new CustomerEvent("CREATED", customer(), TIMESTAMP);
+        CustomerEvent decoded = CustomerEventCodec.decode(CustomerEventCodec.encode(event, true));
+
+        assertEquals("CREATED", decoded.getEventType());
+        assertEquals(event.getEventId(), decoded.getEventId());
+        assertEquals(TIMESTAMP, decoded.getTimestamp());
+        assertEquals("65f1a2b3c4d5e6f7a8b9c0d1", decoded.getCustomer().getId());
+        assertEquals("Pérez", decoded.getCustomer().getLastName());
+        assertEquals("12345678", decoded.getCustomer().getDni());
+        assertFalse(decoded.isDelta());
+    }
+
+    @Test
+    @DisplayName("un UPDATED delta solo lleva el id y los campos modificados")
+    void deltaEventShouldCarryChangedFieldsOnly() {
+        Customer customer = customer();
+        customer.setPhone(null);
+        byte[] full = CustomerEventCodec.encode(new CustomerEvent("UPDATED", customer,
+                TIMESTAMP, fields("email", "phone")), false);
+        byte[] delta = CustomerEventCodec.encode(new CustomerEvent("UPDATED", customer,
+                TIMESTAMP, fields("email", "phone")), true);
+
+        CustomerEvent decoded = CustomerEventCodec.decode(delta);
+
+        assertTrue(delta.length < full.length);
+        assertEquals(fields("phone", "email"), decoded.getChangedFields());
+        assertEquals("65f1a2b3c4d5e6f7a8b9c0d1", decoded.getCustomer().getId());
+        assertEquals("ana@mail.com", decoded.getCustomer().getEmail());
+        assertNull(decoded.getCustomer().getPhone());
+        assertNull(decoded.getCustomer().getDni());
+        assertFalse(CustomerEventCodec.decode(full).isDelta());
+    }
+
+    @Test
+    @DisplayName("los eventos completos y delta llevan la versión del cliente")
+    void shouldCarryCustomerVersion() {
+        Customer customer = customer();
+        customer.setVersion(3L);
+        byte[] full = CustomerEventCodec.encode(new CustomerEvent("UPDATED", customer,
+                TIMESTAMP, fields("email")), false);
+        byte[] delta = CustomerEventCodec.encode(new CustomerEvent("UPDATED", customer,
+                TIMESTAMP, fields("email")), true);
+
+        assertEquals(CustomerEventCodec.SCHEMA_FULL, full[1]);
+        assertEquals(CustomerEventCodec.SCHEMA_DELTA, delta[1]);
+        assertEquals(3L, CustomerEventCodec.decode(full).getCustomer().getVersion());
+        CustomerEvent decoded = CustomerEventCodec.decode(delta);
+        assertTrue(decoded.isDelta());
+        assertEquals(3L, decoded.getCustomer().getVersion());
+        assertNull(decoded.getCustomer().getDni());
+    }
+
+    @Test
+    @DisplayName("la máscara delta usa posiciones fijas por campo")
+    void deltaMaskShouldUseFixedFieldPositions() {
+        assertEquals((short) (1 << 1 | 1 << 10), CustomerEventCodec.mask(
+                fields("customerType", "email")));
+        assertEquals(fields("id", "dni"), CustomerEventCodec.fields((short) (1 | 1 << 6)));
+    }
+
+    @Test
+    @DisplayName("conserva ids de evento que no son UUID y eventos sin id")
+    void shouldKeepNonUuidAndMissingEventIds() {
+        CustomerEvent custom = new CustomerEvent("UPDATED", customer(), TIMESTAMP,
+                null, "legacy-42");
+        CustomerEvent missing = new CustomerEvent("UPDATED", customer(), TIMESTAMP,
+                null, null);
+
+        assertEquals("legacy-42", CustomerEventCodec.decode(
+                CustomerEventCodec.encode(custom, false)).getEventId());
+        assertNull(CustomerEventCodec.decode(
+                CustomerEventCodec.encode(missing, false)).getEventId());
+    }
+
+    @Test
+    @DisplayName("rechaza un id de esquema desconocido")
+    void shouldRejectUnknownSchema() {
+        byte[] bytes = CustomerEventCodec.encode(
+                new CustomerEvent("DELETED", customer(), TIMESTAMP), false);
+        bytes[1] = 9;
+
+        assertThrows(IllegalArgumentException.class, () -> CustomerEventCodec.decode(bytes));
+    }
+
+    @Test
+    @DisplayName("el deserializador lee binario y también los mensajes JSON anteriores")
+    void deserializerShouldReadBinaryAndJson() {
+        Map<String, Object> config = new HashMap<>();
+        config.put("spring.json.trusted.packages", "com.customer.business.event.dto");
+        config.put("spring.json.value.default.type", CustomerEvent.class.getName());
+        CustomerEventDeserializer deserializer = new CustomerEventDeserializer();
+        deserializer.configure(config, false);
+        CustomerEventSerializer serializer = new CustomerEventSerializer();
+        serializer.configure(Collections.emptyMap(), false);
+        JsonSerializer<CustomerEvent> jsonSerializer = new JsonSerializer<>();
+        CustomerEvent event = new CustomerEvent("CREATED", customer(), TIMESTAMP);
+
+        Object binary = deserializer.deserialize("customer-events",
+                serializer.serialize("customer-events", event));
+        Object json = deserializer.deserialize("customer-events",
+                jsonSerializer.serialize("customer-events", event));
+
+        assertEquals("Ana", ((CustomerEvent) binary).getCustomer().getFirstName());
+        assertEquals("Ana", ((CustomerEvent) json).getCustomer().getFirstName());
+    }
+}
@@ -0,0 +1,19 @@
+package com.customer.business.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DuplicateResourceExceptionTest {
+
+    @Test
+    @DisplayName("Debe crear la excepción con mensaje, status y código correctos")
+    void testConstructor() {
+        DuplicateResourceException ex = new DuplicateResourceException("DNI");
+        assertEquals("DNI already exists", ex.getMessage());
+        assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+        assertEquals("DUPLICATE_RESOURCE", ex.getCode());
+    }
+}
@@ -0,0 +1,101 @@
+package com.customer.business.loader;
+
+import com.customer.business.mapper.CustomerMapper;
+import com.customer.business.model.dto.CustomerBatchItem;
+import com.customer.business.repository.CustomerRepository;
+import com.customer.business.service.CustomerBatchService;
+import com.customer.business.validator.CreateCustomerValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CustomerBulkLoaderTest {
+
+    private static final String VALID = "{\"customerType\":\"PERSONAL\",\"firstName\":\"Juan\","
+            + "\"lastName\":\"Pérez\",\"dni\":\"42851723\",\"phone\":\"+51 987654321\","
+            + "\"email\":\"juan.perez@example.com\"}";
+
+    private static final String UNKNOWN_TYPE = "{\"customerType\":\"EMPRESA\","
+            + "\"firstName\":null,\"dni\":\"20512345678\"}";
+
+    private static final String MISSING_DNI = "{\"customerType\":\"PERSONAL\","
+            + "\"firstName\":\"Ana\",\"lastName\":\"Ruiz\",\"phone\":\"1\",\"email\":\"a@b.c\"}";
+
+    @TempDir
+    Path dir;
+
+    private CustomerBatchService batchService;
+
+    private CustomerBulkLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        batchService = mock(CustomerBatchService.class);
+        when(batchService.importAll(any(), eq(2), eq(3))).thenAnswer(invocation -> {
+            Flux<CustomerBatchItem> items = invocation.getArgument(0);
+            return items.map(item -> item.isAccepted() ? item.created() : item);
+        });
+        loader = new CustomerBulkLoader(new ObjectMapper(),
+                new CreateCustomerValidator(mock(CustomerRepository.class)),
+                new CustomerMapper(), batchService, "", 2, 3);
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("carga un arreglo JSON y rechaza filas ilegibles o inválidas")
+    void shouldLoadJsonArray() throws IOException {
+        Path file = write("data.json",
+                "[" + VALID + "," + UNKNOWN_TYPE + "," + MISSING_DNI + "," + VALID + "]");
+
+        StepVerifier.create(loader.load(file))
+                .assertNext(report -> {
+                    assertEquals(4, report.getRead());
+                    assertEquals(2, report.getCreated());
+                    assertEquals(2, report.getRejected());
+                    assertEquals(2, report.getRejectedRows().size());
+                    assertTrue(report.getRejectedRows().get(0).startsWith("row 1 REJECTED"));
+                    assertTrue(report.getRejectedRows().get(1).contains("DNI is required"));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("carga NDJSON")
+    void shouldLoadNdjson() throws IOException {
+        Path file = write("data.ndjson", VALID + "\n" + MISSING_DNI + "\n" + VALID + "\n");
+
+        StepVerifier.create(loader.load(file))
+                .assertNext(report -> {
+                    assertEquals(3, report.getRead());
+                    assertEquals(2, report.getCreated());
+                    assertEquals(1, report.getRejected());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("exige el archivo de entrada")
+    void runShouldRequireFile() {
+        assertThrows(IllegalStateException.class, () -> loader.run(null));
+    }
+}
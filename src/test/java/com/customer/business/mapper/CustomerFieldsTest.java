@@ -0,0 +1,71 @@
+package com.customer.business.mapper;
+
+import com.customer.business.exception.ValidationException;
+import com.customer.business.model.CustomerResponse;
+import com.customer.business.model.entity.Customer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerFieldsTest {
+
+    @Test
+    @DisplayName("sin campos selecciona todos")
+    void parseShouldReturnEmptyForAllFields() {
+        assertTrue(CustomerFields.parse(null).isEmpty());
+        assertTrue(CustomerFields.parse(" ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("incluye siempre el id e ignora espacios")
+    void parseShouldAlwaysIncludeId() {
+        assertEquals(new LinkedHashSet<>(Arrays.asList("id", "firstName", "customerType")),
+                CustomerFields.parse(" firstName, customerType ,"));
+    }
+
+    @Test
+    @DisplayName("rechaza campos desconocidos")
+    void parseShouldRejectUnknownFields() {
+        assertThrows(ValidationException.class, () -> CustomerFields.parse("id,products"));
+    }
+
+    @Test
+    @DisplayName("retain conserva solo los campos seleccionados")
+    void retainShouldKeepSelectedFields() {
+        Customer customer = new Customer();
+        customer.setId("1");
+        customer.setFirstName("John");
+        customer.setDni("12345678");
+        Set<String> fields = CustomerFields.parse("firstName");
+
+        Customer sparse = CustomerFields.retain(customer, fields);
+
+        assertEquals("1", sparse.getId());
+        assertEquals("John", sparse.getFirstName());
+        assertNull(sparse.getDni());
+        assertSame(customer, CustomerFields.retain(customer, CustomerFields.parse(null)));
+    }
+
+    @Test
+    @DisplayName("render solo cambia la serialización de las respuestas con selección")
+    void renderShouldOnlyWrapSparseResponses() {
+        CustomerResponse response = new CustomerResponse();
+        response.setId("1");
+        response.setFirstName("John");
+
+        assertSame(response, CustomerFields.render(response, CustomerFields.parse(null)));
+        CustomerResponse sparse = CustomerFields.render(response,
+                CustomerFields.parse("firstName"));
+        assertTrue(sparse instanceof SparseCustomerResponse);
+        assertEquals("John", sparse.getFirstName());
+    }
+}
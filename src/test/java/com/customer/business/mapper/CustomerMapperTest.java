@@ -1,15 +1,24 @@
 package com.customer.business.mapper;
 
+import com.customer.business.model.CustomerBatchResult;
 import com.customer.business.model.CustomerCreateRequest;
+import com.customer.business.model.CustomerProductsResult;
 import com.customer.business.model.CustomerResponse;
 import com.customer.business.model.CustomerUpdateRequest;
 import com.customer.business.model.PaymentResponse;
 import com.customer.business.model.ProductReportResponse;
+import com.customer.business.model.ProductResponse;
+import com.customer.business.model.dto.CustomerBatchItem;
+import com.customer.business.model.dto.CustomerProducts;
+import com.customer.business.model.dto.ProductDTO;
 import com.customer.business.model.entity.Customer;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class CustomerMapperTest {
 
@@ -58,6 +67,34 @@ class CustomerMapperTest {
         assertNull(result.getProfile());
     }
 
+    @Test
+    void getCustomerofCustomerCreateRequestShouldStoreBlankDocumentsAsNull() {
+        CustomerCreateRequest request = new CustomerCreateRequest();
+        request.setDni("12345678");
+        request.setRuc("  ");
+        Customer result = mapper.getCustomerofCustomerCreateRequest(request);
+        assertEquals("12345678", result.getDni());
+        assertNull(result.getRuc());
+    }
+
+    @Test
+    void getCustomerBatchResultOfItemShouldMapCreatedAndRejectedItems() {
+        Customer customer = new Customer();
+        customer.setId("1");
+
+        CustomerBatchResult created = mapper.getCustomerBatchResultOfItem(
+                CustomerBatchItem.accepted(0, customer).created());
+        CustomerBatchResult rejected = mapper.getCustomerBatchResultOfItem(
+                CustomerBatchItem.rejected(1, "Invalid DNI format"));
+
+        assertEquals(0L, created.getIndex());
+        assertEquals(CustomerBatchResult.StatusEnum.CREATED, created.getStatus());
+        assertEquals("1", created.getId());
+        assertEquals(CustomerBatchResult.StatusEnum.REJECTED, rejected.getStatus());
+        assertNull(rejected.getId());
+        assertEquals("Invalid DNI format", rejected.getMessage());
+    }
+
     @Test
     void getCustomerResponseOfCustomerShouldReturnNullWhenCustomerIsNull() {
         assertNull(mapper.getCustomerResponseOfCustomer(null));
@@ -172,4 +209,50 @@ class CustomerMapperTest {
         assertEquals("S", res.getSubType());
         assertEquals(100.0, res.getBalance());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getProductResponseOfProductShouldResolveEnums() {
+        ProductDTO product = new ProductDTO("P1", "C1", "ASSET", "CREDIT_CARD", "CREDIT_CARD");
+        ProductResponse res = mapper.getProductResponseOfProduct(product);
+        assertEquals("P1", res.getId());
+        assertEquals("C1", res.getCustomerId());
+        assertEquals(ProductResponse.CategoryEnum.ASSET, res.getCategory());
+        assertEquals(ProductResponse.TypeEnum.CREDIT_CARD, res.getType());
+        assertEquals(ProductResponse.SubTypeEnum.CREDIT_CARD, res.getSubType());
+    }
+
+    @Test
+    void getProductResponseOfProductShouldKeepMissingCategoryAsNull() {
+        ProductDTO product = new ProductDTO("P1", "C1", null, "ACCOUNT", "SAVINGS");
+        ProductResponse res = mapper.getProductResponseOfProduct(product);
+        assertNull(res.getCategory());
+        assertEquals(ProductResponse.TypeEnum.ACCOUNT, res.getType());
+    }
+
+    @Test
+    void getProductResponseOfProductShouldRejectUnknownValues() {
+        ProductDTO product = new ProductDTO("P1", "C1", "ASSET", "UNKNOWN", "SAVINGS");
+        assertThrows(IllegalArgumentException.class,
+                () -> mapper.getProductResponseOfProduct(product));
+    }
+
+    @Test
+    void getCustomerProductsResultOfCustomerProductsShouldMapProducts() {
+        ProductDTO product = new ProductDTO("P1", "C1", "LIABILITY", "ACCOUNT", "SAVINGS");
+        CustomerProductsResult res = mapper.getCustomerProductsResultOfCustomerProducts(
+                CustomerProducts.found("C1", Collections.singletonList(product)));
+        assertEquals("C1", res.getCustomerId());
+        assertEquals(CustomerProductsResult.StatusEnum.FOUND, res.getStatus());
+        assertEquals(1, res.getProducts().size());
+        assertEquals(ProductResponse.SubTypeEnum.SAVINGS, res.getProducts().get(0).getSubType());
+    }
+
+    @Test
+    void getCustomerProductsResultOfCustomerProductsShouldMapNotFound() {
+        CustomerProductsResult res = mapper.getCustomerProductsResultOfCustomerProducts(
+                CustomerProducts.notFound("C2"));
+        assertEquals(CustomerProductsResult.StatusEnum.NOT_FOUND, res.getStatus());
+        assertEquals(0, res.getProducts().size());
+        assertEquals("Customer not found", res.getMessage());
+    }
+}
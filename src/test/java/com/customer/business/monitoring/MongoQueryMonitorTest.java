@@ -0,0 +1,121 @@
+package com.customer.business.monitoring;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MongoQueryMonitorTest {
+
+    private static final ConnectionDescription CONNECTION = new ConnectionDescription(
+            new ServerId(new ClusterId(), new ServerAddress()));
+
+    private MeterRegistry meterRegistry;
+
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private MongoQueryMonitor monitor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        mongoTemplate = mock(ReactiveMongoTemplate.class);
+        ObjectProvider<ReactiveMongoTemplate> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(mongoTemplate);
+        Document explain = Document.parse("{queryPlanner: {winningPlan: {stage: 'COLLSCAN'}}}");
+        when(mongoTemplate.executeCommand(anyString())).thenReturn(Mono.just(explain));
+        monitor = new MongoQueryMonitor(meterRegistry, provider,
+                Duration.ofMillis(100), 0.0, Duration.ofMinutes(10), 10);
+    }
+
+    private void run(int requestId, String json, long millis) {
+        BsonDocument command = BsonDocument.parse(json);
+        String commandName = command.getFirstKey();
+        monitor.commandStarted(new CommandStartedEvent(
+                requestId, CONNECTION, "customers-db", commandName, command));
+        monitor.commandSucceeded(new CommandSucceededEvent(
+                requestId, CONNECTION, commandName, new BsonDocument(),
+                TimeUnit.MILLISECONDS.toNanos(millis)));
+    }
+
+    @Test
+    @DisplayName("la forma conserva campos y operadores pero no los valores")
+    void shapeShouldHideValues() {
+        BsonDocument filter = BsonDocument.parse(
+                "{dni: '123', $or: [{ruc: {$in: ['1', '2']}}, {email: 'a@b.c'}]}");
+
+        assertEquals("{dni: ?, $or: [{ruc: {$in: [?]}}, {email: ?}]}",
+                QueryShapes.shape(filter));
+        assertEquals("find customers {dni: ?} sort [_id]", QueryShapes.shape("find",
+                "customers", BsonDocument.parse("{dni: '1'}"), BsonDocument.parse("{_id: 1}")));
+    }
+
+    @Test
+    @DisplayName("agrupa las consultas por forma y cuenta las lentas")
+    void shouldRecordLatencyPerShape() {
+        run(1, "{find: 'customers', filter: {dni: '1'}}", 5);
+        run(2, "{find: 'customers', filter: {dni: '2'}}", 250);
+        run(3, "{delete: 'customers', deletes: [{q: {_id: 'x'}, limit: 1}]}", 1);
+        run(4, "{ping: 1}", 1);
+
+        List<Map<String, Object>> snapshot = monitor.snapshot();
+
+        assertEquals(2, snapshot.size());
+        Map<String, Object> byDni = snapshot.get(0);
+        assertEquals("find customers {dni: ?}", byDni.get("shape"));
+        assertEquals(2L, byDni.get("count"));
+        assertEquals(1L, byDni.get("slow"));
+        assertEquals("delete customers {_id: ?}", snapshot.get(1).get("shape"));
+        assertEquals(2L, meterRegistry.get(QueryShapeStats.METRIC)
+                .tag("shape", "find customers {dni: ?}").timer().count());
+    }
+
+    @Test
+    @DisplayName("explica la forma una vez y marca los COLLSCAN")
+    void shouldFlagCollectionScans() {
+        run(1, "{find: 'customers', filter: {email: 'a@b.c'}}", 1);
+        run(2, "{find: 'customers', filter: {email: 'd@e.f'}}", 1);
+
+        Map<String, Object> stats = monitor.snapshot().get(0);
+
+        assertEquals("COLLSCAN", stats.get("plan"));
+        assertTrue((Boolean) stats.get("collectionScan"));
+        verify(mongoTemplate, times(1)).executeCommand(anyString());
+    }
+
+    @Test
+    @DisplayName("lee el plan ganador desde la raíz hasta las hojas")
+    void winningPlanShouldListStages() {
+        Document explain = Document.parse("{queryPlanner: {winningPlan: "
+                + "{stage: 'FETCH', inputStage: {stage: 'IXSCAN', keyPattern: {dni: 1}}}}}");
+
+        assertEquals("FETCH > IXSCAN", QueryShapes.winningPlan(explain));
+        assertEquals(QueryShapes.UNKNOWN_PLAN, QueryShapes.winningPlan(new Document()));
+    }
+}
@@ -0,0 +1,66 @@
+package com.customer.business.repository;
+
+import com.customer.business.exception.ValidationException;
+import com.customer.business.model.entity.Customer;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerRepositoryCustomImplTest {
+
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private CustomerRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(ReactiveMongoTemplate.class);
+        when(mongoTemplate.find(any(Query.class), eq(Customer.class))).thenReturn(Flux.empty());
+        repository = new CustomerRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("findPage continúa desde el ObjectId del cursor")
+    void findPageShouldStartAfterCursor() {
+        ObjectId after = new ObjectId();
+
+        StepVerifier.create(repository.findPage(after.toHexString(), 10,
+                        Collections.emptySet()))
+                .verifyComplete();
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(captor.capture(), eq(Customer.class));
+        assertEquals(new Document("id", new Document("$gt", after)),
+                captor.getValue().getQueryObject());
+    }
+
+    @Test
+    @DisplayName("un cursor que no es un ObjectId se rechaza sin consultar MongoDB")
+    void findPageShouldRejectInvalidCursor() {
+        StepVerifier.create(repository.findPage("abc", 10, Collections.emptySet()))
+                .expectError(ValidationException.class)
+                .verify();
+        StepVerifier.create(repository.stream("abc", Collections.emptySet()))
+                .expectError(ValidationException.class)
+                .verify();
+
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Customer.class));
+    }
+}
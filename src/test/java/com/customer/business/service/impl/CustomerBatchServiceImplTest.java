@@ -0,0 +1,148 @@
+package com.customer.business.service.impl;
+
+import com.customer.business.cache.CustomerCache;
+import com.customer.business.event.outbox.CustomerEventOutbox;
+import com.customer.business.model.dto.CustomerBatchItem;
+import com.customer.business.model.entity.Customer;
+import com.customer.business.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerBatchServiceImplTest {
+
+    private CustomerRepository customerRepository;
+
+    private CustomerCache customerCache;
+
+    private CustomerEventOutbox customerEventOutbox;
+
+    private CustomerBatchServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository = mock(CustomerRepository.class);
+        customerCache = mock(CustomerCache.class);
+        customerEventOutbox = mock(CustomerEventOutbox.class);
+        when(customerEventOutbox.writeAll(anyString(), any())).thenAnswer(invocation ->
+                invocation.<Flux<Customer>>getArgument(1).collectList());
+        when(customerEventOutbox.write(anyString(), any())).thenAnswer(invocation ->
+                invocation.getArgument(1));
+        when(customerCache.put(any())).thenAnswer(invocation ->
+                Mono.just(invocation.getArgument(0)));
+        service = new CustomerBatchServiceImpl(customerRepository, customerCache,
+                customerEventOutbox, 2);
+    }
+
+    private CustomerBatchItem item(long index, String dni) {
+        Customer customer = new Customer();
+        customer.setDni(dni);
+        return CustomerBatchItem.accepted(index, customer);
+    }
+
+    @Test
+    @DisplayName("inserta los aceptados y rechaza DNIs existentes o repetidos")
+    void createAllShouldReportResultPerItem() {
+        when(customerRepository.findExistingDnis(anyCollection()))
+                .thenReturn(Flux.empty())
+                .thenReturn(Flux.just("33333333"));
+        when(customerRepository.insert(anyList())).thenAnswer(invocation ->
+                Flux.fromIterable(invocation.<List<Customer>>getArgument(0)));
+
+        Flux<CustomerBatchItem> items = Flux.just(
+                item(0, "11111111"),
+                item(1, "11111111"),
+                item(2, "33333333"),
+                CustomerBatchItem.rejected(3, "Invalid DNI format"));
+
+        StepVerifier.create(service.createAll(items).collectList())
+                .assertNext(results -> {
+                    assertEquals(4, results.size());
+                    assertEquals(CustomerBatchItem.CREATED, results.get(0).getStatus());
+                    assertEquals(24, results.get(0).getCustomer().getId().length());
+                    assertEquals(CustomerBatchItem.REJECTED, results.get(1).getStatus());
+                    assertEquals("DNI duplicated in batch", results.get(1).getMessage());
+                    assertEquals(CustomerBatchItem.REJECTED, results.get(2).getStatus());
+                    assertEquals("DNI already exists", results.get(2).getMessage());
+                    assertEquals("Invalid DNI format", results.get(3).getMessage());
+                })
+                .verifyComplete();
+        verify(customerCache, times(1)).put(any());
+        verify(customerEventOutbox, times(1)).writeAll(eq("CREATED"), any());
+    }
+
+    @Test
+    @DisplayName("si otra alta gana un DNI, repite el bloque cliente a cliente y marca FAILED")
+    void createAllShouldRetryOneByOneOnDuplicateKey() {
+        when(customerRepository.findExistingDnis(anyCollection())).thenReturn(Flux.empty());
+        when(customerRepository.insert(anyList()))
+                .thenReturn(Flux.error(new DuplicateKeyException("E11000 duplicate key")));
+        when(customerRepository.insert(any(Customer.class))).thenAnswer(invocation -> {
+            Customer customer = invocation.getArgument(0);
+            return "22222222".equals(customer.getDni())
+                    ? Mono.error(new DuplicateKeyException("E11000 duplicate key"))
+                    : Mono.just(customer);
+        });
+
+        StepVerifier.create(service.createAll(Flux.just(item(0, "11111111"),
+                        item(1, "22222222"))).collectList())
+                .assertNext(results -> {
+                    assertEquals(CustomerBatchItem.CREATED, results.get(0).getStatus());
+                    assertEquals(CustomerBatchItem.FAILED, results.get(1).getStatus());
+                    assertEquals("E11000 duplicate key", results.get(1).getMessage());
+                })
+                .verifyComplete();
+        verify(customerEventOutbox, times(2)).write(eq("CREATED"), any());
+        verify(customerCache, times(1)).put(any());
+    }
+
+    @Test
+    @DisplayName("la carga masiva marca como FAILED los documentos que fallan en el insertMany")
+    void importAllShouldReportInsertFailures() {
+        when(customerRepository.findExistingDnis(anyCollection())).thenReturn(Flux.empty());
+        when(customerRepository.insertUnordered(anyList()))
+                .thenReturn(Mono.just(Collections.singletonMap(1, "E11000 duplicate key")));
+
+        StepVerifier.create(service.importAll(Flux.just(item(0, "11111111"),
+                        item(1, "22222222")), 2, 1).collectList())
+                .assertNext(results -> {
+                    assertEquals(CustomerBatchItem.CREATED, results.get(0).getStatus());
+                    assertEquals(CustomerBatchItem.FAILED, results.get(1).getStatus());
+                })
+                .verifyComplete();
+        verify(customerEventOutbox, never()).writeAll(anyString(), any());
+        verify(customerCache, never()).put(any());
+    }
+
+    @Test
+    @DisplayName("si no se pueden registrar los eventos CREATED el error llega al llamador")
+    void createAllShouldPropagateOutboxFailures() {
+        when(customerRepository.findExistingDnis(anyCollection())).thenReturn(Flux.empty());
+        when(customerRepository.insert(anyList())).thenReturn(Flux.empty());
+        when(customerEventOutbox.writeAll(anyString(), any()))
+                .thenReturn(Mono.error(new IllegalStateException("outbox down")));
+
+        StepVerifier.create(service.createAll(Flux.just(item(0, "11111111"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,246 @@
+package com.customer.business.service.impl;
+
+import com.customer.business.cache.CustomerCache;
+import com.customer.business.cache.ProductCountsCache;
+import com.customer.business.config.MongoIndexConfig;
+import com.customer.business.event.outbox.CustomerEventOutbox;
+import com.customer.business.exception.DuplicateResourceException;
+import com.customer.business.exception.ResourceNotFoundException;
+import com.customer.business.model.dto.ProductDTO;
+import com.customer.business.model.entity.Customer;
+import com.customer.business.model.entity.Product;
+import com.customer.business.repository.CustomerRepository;
+import com.customer.business.resilience.ResilienceOperatorService;
+import com.customer.business.service.CustomerSummaryService;
+import com.customer.business.validator.AddProductValidatorService;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.PublisherProbe;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerServiceImplTest {
+
+    private CustomerRepository customerRepository;
+
+    private CustomerCache customerCache;
+
+    private CustomerEventOutbox customerEventOutbox;
+
+    private ResilienceOperatorService resilienceOperatorService;
+
+    private CustomerSummaryService customerSummaryService;
+
+    private ProductCountsCache productCountsCache;
+
+    private CustomerServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository = mock(CustomerRepository.class);
+        customerCache = mock(CustomerCache.class);
+        customerEventOutbox = mock(CustomerEventOutbox.class);
+        when(customerEventOutbox.write(eq("CREATED"), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        when(customerCache.put(any())).thenAnswer(invocation ->
+                Mono.just(invocation.getArgument(0)));
+        resilienceOperatorService = mock(ResilienceOperatorService.class);
+        customerSummaryService = mock(CustomerSummaryService.class);
+        when(customerSummaryService.findFresh("1")).thenReturn(Mono.empty());
+        when(customerSummaryService.markStale("1")).thenReturn(Mono.empty());
+        productCountsCache = mock(ProductCountsCache.class);
+        when(productCountsCache.get("1")).thenReturn(Mono.empty());
+        when(productCountsCache.evict("1")).thenReturn(Mono.empty());
+        // las llamadas HTTP se sustituyen en withCircuitBreaker
+        service = new CustomerServiceImpl(customerRepository,
+                mock(WebClient.class, RETURNS_DEEP_STUBS),
+                mock(AddProductValidatorService.class), mock(CircuitBreaker.class),
+                resilienceOperatorService, customerCache, customerEventOutbox,
+                customerSummaryService, productCountsCache, 100, 8);
+    }
+
+    private Customer customer(String id) {
+        Customer customer = new Customer();
+        customer.setId(id);
+        customer.setDni("12345678");
+        return customer;
+    }
+
+    private static DuplicateKeyException duplicateKey(String index) {
+        return new DuplicateKeyException(
+                "E11000 duplicate key error collection: customers index: " + index);
+    }
+
+    @Test
+    @DisplayName("create rechaza con conflicto un DNI duplicado según el índice único")
+    void createShouldRejectDuplicatedDni() {
+        when(customerRepository.save(any(Customer.class)))
+                .thenReturn(Mono.error(duplicateKey(MongoIndexConfig.DNI_INDEX)));
+
+        StepVerifier.create(service.create(customer(null)))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(DuplicateResourceException.class, error);
+                    assertEquals("DNI already exists", error.getMessage());
+                })
+                .verify();
+        verify(customerCache, never()).put(any());
+    }
+
+    @Test
+    @DisplayName("create rechaza con conflicto un RUC duplicado según el índice único")
+    void createShouldRejectDuplicatedRuc() {
+        when(customerRepository.save(any(Customer.class)))
+                .thenReturn(Mono.error(duplicateKey(MongoIndexConfig.RUC_INDEX)));
+
+        StepVerifier.create(service.create(customer(null)))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(DuplicateResourceException.class, error);
+                    assertEquals("RUC already exists", error.getMessage());
+                })
+                .verify();
+    }
+
+    @Test
+    @DisplayName("delete borra dentro de la escritura del outbox y después invalida la cache")
+    void deleteShouldRemoveInsideOutboxWriteThenEvict() {
+        List<String> steps = new ArrayList<>();
+        when(customerRepository.findAndDeleteById("1")).thenReturn(
+                Mono.fromCallable(() -> {
+                    steps.add("remove");
+                    return customer("1");
+                }));
+        when(customerEventOutbox.write(eq("DELETED"), any())).thenAnswer(invocation -> {
+            Mono<Customer> change = invocation.getArgument(1);
+            return Mono.defer(() -> {
+                steps.add("begin");
+                return change;
+            }).doOnSuccess(removed -> steps.add("commit"));
+        });
+        when(customerCache.evict("1")).thenReturn(Mono.fromRunnable(() -> steps.add("evict")));
+
+        StepVerifier.create(service.delete("1"))
+                .verifyComplete();
+
+        assertEquals(Arrays.asList("begin", "remove", "commit", "evict"), steps);
+    }
+
+    @Test
+    @DisplayName("delete de un cliente inexistente no invalida la cache")
+    void deleteShouldFailWhenCustomerDoesNotExist() {
+        List<String> steps = new ArrayList<>();
+        when(customerRepository.findAndDeleteById("1")).thenReturn(Mono.empty());
+        when(customerEventOutbox.write(eq("DELETED"), any()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        when(customerCache.evict("1")).thenReturn(Mono.fromRunnable(() -> steps.add("evict")));
+
+        StepVerifier.create(service.delete("1"))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+        assertTrue(steps.isEmpty());
+    }
+
+    @Test
+    @DisplayName("addProduct de un cliente inexistente cancela la lectura de productos")
+    void addProductShouldCancelProductsLookupWhenCustomerDoesNotExist() {
+        PublisherProbe<ProductDTO> lookup = PublisherProbe.of(Flux.never());
+        PublisherProbe<Void> creation = PublisherProbe.empty();
+        // asíncrona, para que la lectura de productos ya esté en curso al fallar
+        when(customerRepository.findById("1"))
+                .thenReturn(Mono.<Customer>empty().delaySubscription(Duration.ofMillis(20)));
+        when(resilienceOperatorService.withCircuitBreaker(any(Flux.class), any()))
+                .thenReturn(lookup.flux());
+        when(resilienceOperatorService.withCircuitBreaker(any(Mono.class), any()))
+                .thenReturn(creation.mono());
+
+        StepVerifier.create(service.addProduct("1", new Product()))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+        lookup.assertWasSubscribed();
+        lookup.assertWasCancelled();
+        creation.assertWasNotSubscribed();
+    }
+
+    @Test
+    @DisplayName("removeProduct de un cliente inexistente no envía el DELETE")
+    void removeProductShouldNotDeleteWhenCustomerDoesNotExist() {
+        PublisherProbe<Void> removal = PublisherProbe.empty();
+        when(customerRepository.findById("1")).thenReturn(Mono.empty());
+        when(resilienceOperatorService.withCircuitBreaker(any(Mono.class), any()))
+                .thenReturn(removal.mono());
+
+        StepVerifier.create(service.removeProduct("1", "p-1"))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+        removal.assertWasNotSubscribed();
+        verify(productCountsCache, never()).evict("1");
+    }
+
+    @Test
+    @DisplayName("removeProduct envía el DELETE e invalida el resumen de productos")
+    void removeProductShouldDeleteAndInvalidateSummary() {
+        PublisherProbe<Void> removal = PublisherProbe.empty();
+        when(customerRepository.findById("1")).thenReturn(Mono.just(customer("1")));
+        when(resilienceOperatorService.withCircuitBreaker(any(Mono.class), any()))
+                .thenReturn(removal.mono());
+
+        StepVerifier.create(service.removeProduct("1", "p-1"))
+                .verifyComplete();
+        removal.assertWasSubscribed();
+        verify(customerSummaryService).markStale("1");
+        verify(productCountsCache).evict("1");
+    }
+
+    @Test
+    @DisplayName("getProducts emite los productos tras confirmar el cliente con una sola lectura")
+    void getProductsShouldEmitProductsOfExistingCustomer() {
+        PublisherProbe<Customer> lookup = PublisherProbe.of(Mono.just(customer("1")));
+        when(customerRepository.findById("1")).thenReturn(lookup.mono());
+        when(resilienceOperatorService.withCircuitBreaker(any(Flux.class), any()))
+                .thenReturn(Flux.just(product("p-1"), product("p-2")));
+
+        StepVerifier.create(service.getProducts("1").map(ProductDTO::getId))
+                .expectNext("p-1", "p-2")
+                .verifyComplete();
+        assertEquals(1, lookup.subscribeCount());
+    }
+
+    @Test
+    @DisplayName("getProducts de un cliente inexistente falla sin emitir productos")
+    void getProductsShouldFailWhenCustomerDoesNotExist() {
+        when(customerRepository.findById("1")).thenReturn(Mono.empty());
+        when(resilienceOperatorService.withCircuitBreaker(any(Flux.class), any()))
+                .thenReturn(Flux.just(product("p-1")));
+
+        StepVerifier.create(service.getProducts("1"))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    private static ProductDTO product(String id) {
+        ProductDTO product = new ProductDTO();
+        product.setId(id);
+        product.setCustomerId("1");
+        return product;
+    }
+}
@@ -0,0 +1,174 @@
+package com.customer.business.service.impl;
+
+import com.customer.business.event.dto.CustomerEvent;
+import com.customer.business.event.dto.ProductEvent;
+import com.customer.business.model.dto.ProductDTO;
+import com.customer.business.model.entity.Customer;
+import com.customer.business.model.entity.CustomerSummary;
+import com.mongodb.client.result.DeleteResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerSummaryServiceImplTest {
+
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private CustomerSummaryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(ReactiveMongoTemplate.class);
+        when(mongoTemplate.upsert(any(Query.class), any(UpdateDefinition.class),
+                eq(CustomerSummary.class))).thenReturn(Mono.empty());
+        when(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class),
+                eq(CustomerSummary.class))).thenReturn(Mono.empty());
+        service = new CustomerSummaryServiceImpl(mongoTemplate, Duration.ofHours(1));
+    }
+
+    private Customer customer() {
+        Customer customer = new Customer();
+        customer.setId("c1");
+        customer.setCustomerType("PERSONAL");
+        customer.setProfile("VIP");
+        return customer;
+    }
+
+    private ProductDTO product(String id) {
+        return new ProductDTO(id, "c1", "LIABILITY", "ACCOUNT", "SAVINGS");
+    }
+
+    private Update captureUpsert() {
+        ArgumentCaptor<UpdateDefinition> captor = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoTemplate).upsert(any(Query.class), captor.capture(), eq(CustomerSummary.class));
+        return (Update) captor.getValue();
+    }
+
+    private Document captureUpsertQuery() {
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).upsert(captor.capture(), any(UpdateDefinition.class),
+                eq(CustomerSummary.class));
+        return captor.getValue().getQueryObject();
+    }
+
+    @Test
+    @DisplayName("CREATED crea la vista con la lista de productos completa")
+    void createdShouldUpsertSyncedSummary() {
+        StepVerifier.create(service.apply(
+                        new CustomerEvent("CREATED", customer(), LocalDateTime.now())))
+                .verifyComplete();
+
+        Update update = captureUpsert();
+        assertEquals("VIP", update.getUpdateObject().get("$set", Document.class)
+                .get("profile"));
+        assertEquals(true, update.getUpdateObject()
+                .get("$setOnInsert", Document.class).get("productsSynced"));
+    }
+
+    @Test
+    @DisplayName("DELETED elimina la vista")
+    void deletedShouldRemoveSummary() {
+        when(mongoTemplate.remove(any(Query.class), eq(CustomerSummary.class)))
+                .thenReturn(Mono.just(DeleteResult.acknowledged(1)));
+
+        StepVerifier.create(service.apply(
+                        new CustomerEvent("DELETED", customer(), LocalDateTime.now())))
+                .verifyComplete();
+        verify(mongoTemplate).remove(any(Query.class), eq(CustomerSummary.class));
+    }
+
+    @Test
+    @DisplayName("un evento de producto escribe solo ese producto")
+    void productEventShouldSetProductById() {
+        StepVerifier.create(service.apply(
+                        new ProductEvent("CREATED", product("p1"), LocalDateTime.now())))
+                .verifyComplete();
+
+        Update update = captureUpsert();
+        assertTrue(update.modifies("products.p1"));
+        assertEquals(false, update.getUpdateObject()
+                .get("$setOnInsert", Document.class).get("productsSynced"));
+    }
+
+    @Test
+    @DisplayName("un evento de producto solo se aplica si es más reciente que el último")
+    void productEventShouldBeGuardedByTimestamp() {
+        LocalDateTime timestamp = LocalDateTime.now();
+        StepVerifier.create(service.apply(
+                        new ProductEvent("DELETED", product("p1"), timestamp)))
+                .verifyComplete();
+
+        Document query = captureUpsertQuery();
+        assertEquals(Arrays.asList(
+                        new Document("productVersions.p1", new Document("$exists", false)),
+                        new Document("productVersions.p1", new Document("$lt", timestamp))),
+                query.get("$or"));
+        Update update = captureUpsert();
+        assertTrue(update.getUpdateObject().get("$unset", Document.class)
+                .containsKey("products.p1"));
+        assertEquals(timestamp, update.getUpdateObject().get("$set", Document.class)
+                .get("productVersions.p1"));
+    }
+
+    @Test
+    @DisplayName("un evento de producto anterior al último aplicado se descarta")
+    void staleProductEventShouldBeSkipped() {
+        when(mongoTemplate.upsert(any(Query.class), any(UpdateDefinition.class),
+                eq(CustomerSummary.class))).thenReturn(Mono.error(new DuplicateKeyException("c1")));
+
+        StepVerifier.create(service.apply(
+                        new ProductEvent("UPDATED", product("p1"), LocalDateTime.now())))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("sync marca la vista como completa solo si todos los productos tienen id")
+    void syncShouldReplaceProducts() {
+        StepVerifier.create(service.sync(customer(),
+                        Arrays.asList(product("p1"), product(null)), Instant.now()))
+                .verifyComplete();
+
+        Update update = captureUpsert();
+        assertEquals(false, update.getUpdateObject().get("$set", Document.class)
+                .get("productsSynced"));
+    }
+
+    @Test
+    @DisplayName("sync no toca la vista si cambió durante la consulta de productos")
+    void syncShouldSkipSummaryUpdatedDuringFetch() {
+        Instant fetchedAt = Instant.now();
+        when(mongoTemplate.upsert(any(Query.class), any(UpdateDefinition.class),
+                eq(CustomerSummary.class))).thenReturn(Mono.error(new DuplicateKeyException("c1")));
+
+        StepVerifier.create(service.sync(customer(), Arrays.asList(product("p1")), fetchedAt))
+                .verifyComplete();
+
+        Document query = captureUpsertQuery();
+        assertEquals(Arrays.asList(
+                        new Document("updatedAt", new Document("$exists", false)),
+                        new Document("updatedAt", new Document("$lte", fetchedAt))),
+                query.get("$or"));
+    }
+}